@@ -0,0 +1,51 @@
+package org.r2.devkit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.r2.devkit.codec.Base64Decoder;
+import org.r2.devkit.codec.Base64Encoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base64编解码基准测试，以样本的UTF-8字节作为输入
+ *
+ * @author ruan4261
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Base64Benchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Payloads.Size size;
+
+    private String text;
+    private byte[] bytes;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        this.text = Payloads.page(this.size);
+        this.bytes = this.text.getBytes(StandardCharsets.UTF_8);
+        this.encoded = Base64Encoder.toBase64(this.bytes, false);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return Base64Encoder.toBase64(this.bytes, false);
+    }
+
+    @Benchmark
+    public String encodeString() {
+        return Base64Encoder.toBase64String(this.text, false);
+    }
+
+    @Benchmark
+    public byte[] decode() {
+        return Base64Decoder.base64ToByteArray(this.encoded, false);
+    }
+}
@@ -0,0 +1,48 @@
+package org.r2.devkit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.r2.devkit.bean.BeanUtil;
+import org.r2.devkit.json.JSON;
+import org.r2.devkit.json.JSONObject;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 贫血模型转换基准测试
+ *
+ * @author ruan4261
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeanBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Payloads.Size size;
+
+    private JSONObject object;
+    private Page page;
+
+    @Setup
+    @SuppressWarnings("deprecation")
+    public void setup() {
+        this.object = (JSONObject) JSON.parse(Payloads.page(this.size));
+        this.page = BeanUtil.convert(Page.class, this.object);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public Page convert() {
+        return BeanUtil.convert(Page.class, this.object);
+    }
+
+    @Benchmark
+    public Page copyProperties() {
+        Page dest = new Page();
+        BeanUtil.copyProperties(this.page, dest, 8 + 16);
+        return dest;
+    }
+}
@@ -0,0 +1,83 @@
+package org.r2.devkit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.r2.devkit.json.JSON;
+import org.r2.devkit.json.JSONObject;
+import org.r2.devkit.json.util.JSONParseContext;
+import org.r2.devkit.json.util.JSONTapeParser;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON字符串解析基准测试
+ * 配合-prof gc查看每次解析的内存分配量
+ *
+ * @author ruan4261
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JSONParseBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Payloads.Size size;
+
+    private String json;
+
+    @Setup
+    public void setup() {
+        this.json = Payloads.page(this.size);
+    }
+
+    @Benchmark
+    public JSON parse() {
+        return JSON.parse(this.json);
+    }
+
+    /**
+     * 容器从线程内的复用池获取，每次读取后归还
+     */
+    @Benchmark
+    public Object parseWithContext() {
+        JSONParseContext context = JSONParseContext.local();
+        Object total = ((JSONObject) context.parse(this.json)).get("total");
+        context.reset();
+        return total;
+    }
+
+    /**
+     * 实验性的两阶段解析，与parse对比
+     */
+    @Benchmark
+    public JSON parseIndexed() {
+        return JSONTapeParser.parse2JSON(this.json, 0).getObject();
+    }
+
+    /**
+     * 只读取两个字段
+     */
+    @Benchmark
+    public Object parseLazy() {
+        JSONObject object = JSON.parseLazy(this.json);
+        object.get("total");
+        return object.get("cursor");
+    }
+
+    @Benchmark
+    public JSON extract() {
+        return JSON.extract(this.json, "$.items[5].name");
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return JSON.validate(this.json);
+    }
+
+    @Benchmark
+    public Page parseToClass() {
+        return JSON.parse(this.json, Page.class);
+    }
+}
@@ -0,0 +1,45 @@
+package org.r2.devkit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.r2.devkit.json.JSON;
+import org.r2.devkit.json.JSONObject;
+import org.r2.devkit.json.serialize.JSONSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON序列化基准测试
+ * 转义使用样本本身作为字符串，其中包含大量需要转义的双引号
+ *
+ * @author ruan4261
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JSONSerializeBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Payloads.Size size;
+
+    private String json;
+    private JSONObject object;
+
+    @Setup
+    public void setup() {
+        this.json = Payloads.page(this.size);
+        this.object = (JSONObject) JSON.parse(this.json);
+    }
+
+    @Benchmark
+    public String toJSONString() {
+        return this.object.toJSONString();
+    }
+
+    @Benchmark
+    public String escapeAndQuot() {
+        return JSONSerializer.escapeAndQuot(this.json);
+    }
+}
@@ -0,0 +1,45 @@
+package org.r2.devkit.benchmark;
+
+import java.util.List;
+
+/**
+ * 与{@link Payloads#page(Payloads.Size)}结构一致的贫血模型
+ *
+ * @author ruan4261
+ */
+public class Page {
+
+    private Integer total;
+    private String cursor;
+    private Item[] items;
+
+    public Integer getTotal() {
+        return total;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public Item[] getItems() {
+        return items;
+    }
+
+    public static class Item {
+        private Integer id;
+        private String name;
+        private Double amount;
+        private Boolean onSale;
+        private String resume;
+        private List<Object> tags;
+        private Object extra;
+
+        public Integer getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.r2.devkit.benchmark;
+
+import java.util.Random;
+
+/**
+ * 基准测试使用的JSON样本生成器
+ * 使用固定种子，保证每次生成的内容一致
+ *
+ * @author ruan4261
+ */
+public final class Payloads {
+
+    /**
+     * 样本规模，元素数量对应的JSON长度约为1.5KB、150KB与12MB
+     */
+    public enum Size {
+        SMALL(10),
+        MEDIUM(1000),
+        LARGE(80000);
+
+        final int records;
+
+        Size(int records) {
+            this.records = records;
+        }
+    }
+
+    private Payloads() {
+    }
+
+    /**
+     * 生成以JSON对象为根的分页样本，结构与{@link Page}一致
+     */
+    public static String page(Size size) {
+        String records = records(size.records);
+        StringBuilder builder = new StringBuilder(records.length() + 64);
+        builder.append("{\"total\":").append(size.records)
+                .append(",\"cursor\":\"c-").append(size.name().toLowerCase()).append('"')
+                .append(",\"items\":").append(records)
+                .append('}');
+        return builder.toString();
+    }
+
+    /**
+     * 生成由同构对象组成的JSON数组
+     *
+     * @param records 数组元素数量
+     */
+    public static String records(int records) {
+        Random random = new Random(4261);
+        StringBuilder builder = new StringBuilder(records * 160);
+        builder.append('[');
+        for (int i = 0; i < records; i++) {
+            if (i > 0) builder.append(',');
+            builder.append("{\"id\":").append(i)
+                    .append(",\"name\":\"good-").append(random.nextInt(100000)).append('"')
+                    .append(",\"amount\":").append(random.nextInt(10000)).append('.').append(random.nextInt(100))
+                    .append(",\"onSale\":").append(random.nextBoolean())
+                    .append(",\"resume\":\"line\\tone \\\"quoted\\\" ").append(random.nextLong()).append('"')
+                    .append(",\"tags\":[\"a\",\"b\",").append(random.nextInt(10)).append(']')
+                    .append(",\"extra\":null}");
+        }
+        builder.append(']');
+        return builder.toString();
+    }
+}
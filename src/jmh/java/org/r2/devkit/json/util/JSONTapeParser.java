@@ -0,0 +1,380 @@
+package org.r2.devkit.json.util;
+
+import org.r2.devkit.Assert;
+import org.r2.devkit.IllegalDataException;
+import org.r2.devkit.json.JSON;
+import org.r2.devkit.json.JSONArray;
+import org.r2.devkit.json.JSONException;
+import org.r2.devkit.json.JSONObject;
+import org.r2.devkit.json.field.*;
+
+import java.util.Arrays;
+
+import static org.r2.devkit.json.JSONToken.*;
+
+/**
+ * 两阶段的JSON字符串解析算法
+ *
+ * [阶段1：结构索引]
+ * 单个紧凑循环，通过查表识别结构字符，不构造任何值
+ * 字符串内容不逐字符判断，而是通过{@link String#indexOf(int, int)}直接查找结尾引号
+ * 结构字符 { } [ ] : , 与字符串的首尾引号按出现顺序记录于int[]索引带中
+ *
+ * [阶段2：构造]
+ * 沿索引带构造JSON值，对象与数组的边界、键与字符串值都直接从索引带中取得
+ * 数值、布尔值与null位于两个结构字符之间，直接在该区间内解析
+ * 含有转义符的字符串交由{@link JSONStringParser}解码
+ *
+ * [一致性]
+ * 阶段2在构造的同时校验语法，任何与预期不符的情况都改用{@link JSONStringParser}重新解析
+ * 因此解析结果与异常信息都与{@link JSONStringParser#parse2JSON(String, int)}一致
+ *
+ * [基准]
+ * 本类只存在于基准测试源码中，不属于库的一部分，仅作为顺序解析的对照
+ * 在含有大量转义字符串的输入上慢于{@link JSONStringParser}，输入不规范时还需要再次完整解析
+ * 与JSONStringParser位于同一个包中，以使用其包内可见的解码与数值校验
+ *
+ * Thread unsafe
+ *
+ * @author ruan4261
+ */
+public final class JSONTapeParser {
+
+    /* 字符类别 */
+    private static final byte STRUCTURAL = 1;
+    private static final byte QUOTATION = 2;
+    private static final byte[] CLASSES = new byte[128];
+
+    static {
+        CLASSES[LBRACE] = STRUCTURAL;
+        CLASSES[RBRACE] = STRUCTURAL;
+        CLASSES[LBRACKET] = STRUCTURAL;
+        CLASSES[RBRACKET] = STRUCTURAL;
+        CLASSES[COLON] = STRUCTURAL;
+        CLASSES[COMMA] = STRUCTURAL;
+        CLASSES[QUOT] = QUOTATION;
+        CLASSES[DOUBLE_QUOT] = QUOTATION;
+    }
+
+    // 阶段2校验失败，需要改用顺序解析，不记录栈
+    private static final RuntimeException MISMATCH = new RuntimeException(null, null, false, false) {
+        private static final long serialVersionUID = 1L;
+    };
+
+    private final String str;
+    private int[] tape;
+    private int size;
+    // 索引带游标
+    private int cursor;
+    // 最近一个被消费的结构字符或结尾引号的位置
+    private int last;
+    // 解码含有转义符的字符串，并提供键的符号表
+    private JSONStringParser scalars;
+
+    private JSONTapeParser(String str) {
+        this.str = str;
+    }
+
+    /**
+     * 解析出一个JSON的实现
+     *
+     * @param str    被解析的字符串
+     * @param offset 解析开始的偏移量
+     * @throws IllegalDataException 参数为null，或offset非法
+     * @throws JSONException        解析失败
+     * @see JSONStringParser#parse2JSON(String, int)
+     */
+    public static Holder<? extends JSON> parse2JSON(String str, int offset) {
+        Assert.legalOffset(str, offset);
+
+        // 根节点为标量时没有可索引的结构
+        int first = offset;
+        while (first < str.length() && isIgnorable(str.charAt(first)))
+            first++;
+        if (first == str.length() || (str.charAt(first) != LBRACE && str.charAt(first) != LBRACKET))
+            return JSONStringParser.parse2JSON(str, offset);
+
+        JSONTapeParser parser = new JSONTapeParser(str);
+        if (!parser.index(first))
+            return JSONStringParser.parse2JSON(str, offset);
+
+        parser.scalars = JSONStringParser.acquire(str, offset);
+        try {
+            JSON json = parser.parseValue(first - 1);
+            return new Holder<>(json, parser.last + 1);
+        } catch (RuntimeException e) {
+            // 由顺序解析给出准确的异常
+        } finally {
+            parser.scalars.release();
+        }
+        return JSONStringParser.parse2JSON(str, offset);
+    }
+
+    /**
+     * 阶段1，生成结构索引带
+     *
+     * [索引带]
+     * 按出现顺序记录结构字符 { } [ ] : , 的偏移量
+     * 字符串记录两项：开头引号的偏移量，与结尾引号的偏移量，字符串含有转义符时结尾引号记录为其按位取反的值（负数）
+     * 字符串内部的字符不会被记录
+     *
+     * @return 索引带，字符串缺少结尾引号时返回null
+     * @throws IllegalDataException 参数为null，或offset非法
+     */
+    public static int[] index(String str, int offset) {
+        Assert.legalOffset(str, offset);
+        JSONTapeParser parser = new JSONTapeParser(str);
+        return parser.index(offset) ? Arrays.copyOf(parser.tape, parser.size) : null;
+    }
+
+    /**
+     * 生成索引带，保存于tape与size
+     *
+     * @return 字符串缺少结尾引号时返回false
+     */
+    private boolean index(int offset) {
+        final String str = this.str;
+        final byte[] classes = CLASSES;
+        final int len = str.length();
+        int[] tape = new int[Math.max(16, (len - offset) >>> 2)];
+        int size = 0;
+        // 下一个反斜杠的位置，用于判断字符串是否含有转义符
+        int escape = -1;
+
+        for (int i = offset; i < len; i++) {
+            final char c = str.charAt(i);
+            if (c >= 128 || classes[c] == 0)
+                continue;
+
+            // 每个字符最多记录两项
+            if (size + 2 > tape.length)
+                tape = Arrays.copyOf(tape, tape.length << 1);
+
+            if (classes[c] == STRUCTURAL) {
+                tape[size++] = i;
+                continue;
+            }
+
+            // 字符串，查找未被转义的结尾引号
+            if (escape < i) {
+                escape = str.indexOf(REVERSE_SOLIDUS, i);
+                if (escape < 0)
+                    escape = len;
+            }
+            int close = i;
+            do {
+                close = str.indexOf(c, close + 1);
+                if (close < 0)
+                    return false;
+            } while (escape < close && isEscaped(str, i, close));
+
+            tape[size++] = i;
+            tape[size++] = escape < close ? ~close : close;
+            i = close;
+        }
+
+        this.tape = tape;
+        this.size = size;
+        return true;
+    }
+
+    /**
+     * 引号之前连续的反斜杠数量为奇数时，该引号被转义
+     */
+    private static boolean isEscaped(String str, int open, int quot) {
+        int i = quot - 1;
+        while (i > open && str.charAt(i) == REVERSE_SOLIDUS)
+            i--;
+        return ((quot - 1 - i) & 1) == 1;
+    }
+
+    /* 阶段2 */
+
+    /**
+     * 解析from之后的一个值，from为值之前的结构字符的位置
+     * 值为对象、数组或字符串时，游标移动至其之后；值为标量时游标不动
+     */
+    private JSON parseValue(int from) {
+        if (this.cursor >= this.size)
+            throw MISMATCH;
+
+        final int pos = this.tape[this.cursor];
+        final char c = this.str.charAt(pos);
+        if (!isBlank(from + 1, pos)) {
+            if (c != COMMA && c != RBRACE && c != RBRACKET)
+                throw MISMATCH;
+            return this.parseScalar(from + 1, pos);
+        }
+
+        switch (c) {
+            case LBRACE:
+                return this.parseObject(pos);
+            case LBRACKET:
+                return this.parseArray(pos);
+            case QUOT:
+            case DOUBLE_QUOT:
+                return this.parseString(pos);
+            default:
+                throw MISMATCH;
+        }
+    }
+
+    private JSONObject parseObject(int pos) {
+        this.cursor++;
+        JSONObject body = new JSONObject();
+        int from = pos;
+
+        if (this.peek(from) == RBRACE) {
+            this.last = this.tape[this.cursor++];
+            return body;
+        }
+
+        for (; ; ) {
+            // 键
+            char c = this.peek(from);
+            if (c != QUOT && c != DOUBLE_QUOT)
+                throw MISMATCH;
+            String key = this.parseKey(this.tape[this.cursor]);
+
+            // 冒号
+            if (this.peek(this.last) != COLON)
+                throw MISMATCH;
+            from = this.tape[this.cursor++];
+
+            body.put(key, this.parseValue(from));
+
+            // 逗号或结尾
+            c = this.peekAfterValue(from);
+            from = this.tape[this.cursor++];
+            if (c == RBRACE) {
+                this.last = from;
+                return body;
+            }
+            if (c != COMMA)
+                throw MISMATCH;
+        }
+    }
+
+    private JSONArray parseArray(int pos) {
+        this.cursor++;
+        JSONArray body = new JSONArray();
+        int from = pos;
+
+        if (this.peek(from) == RBRACKET) {
+            this.last = this.tape[this.cursor++];
+            return body;
+        }
+
+        for (; ; ) {
+            body.add(this.parseValue(from));
+
+            char c = this.peekAfterValue(from);
+            from = this.tape[this.cursor++];
+            if (c == RBRACKET) {
+                this.last = from;
+                return body;
+            }
+            if (c != COMMA)
+                throw MISMATCH;
+        }
+    }
+
+    /**
+     * 游标处为字符串的开头引号
+     */
+    private JSONValueString parseString(int open) {
+        int close = this.tape[this.cursor + 1];
+        this.cursor += 2;
+        if (close < 0) {
+            this.last = ~close;
+            this.scalars.reset(this.str, open);
+            return (JSONValueString) this.scalars.parseValue();
+        }
+        this.last = close;
+        return new JSONValueString(this.str.substring(open + 1, close));
+    }
+
+    private String parseKey(int open) {
+        int close = this.tape[this.cursor + 1];
+        this.cursor += 2;
+        if (close < 0) {
+            this.last = ~close;
+            this.scalars.reset(this.str, open);
+            return this.scalars.parseKey();
+        }
+        this.last = close;
+        JSONKeyTable keys = this.scalars.getKeyTable();
+        return keys == null ? this.str.substring(open + 1, close) : keys.lookup(this.str, open + 1, close);
+    }
+
+    /**
+     * 解析[start, end)区间内的标量，end为其后的结构字符
+     * 语法与{@link JSONStringParser#parseValue()}一致
+     */
+    private JSON parseScalar(int start, int end) {
+        final String str = this.str;
+        while (isIgnorable(str.charAt(start)))
+            start++;
+
+        final JSON value;
+        final int valueEnd;
+        final char c = str.charAt(start);
+        if (c == 't' && str.startsWith("true", start)) {
+            value = JSONValueBoolean.getInstanceTrue();
+            valueEnd = start + 4;
+        } else if (c == 'f' && str.startsWith("false", start)) {
+            value = JSONValueBoolean.getInstanceFalse();
+            valueEnd = start + 5;
+        } else if (c == 'n' && str.startsWith("null", start)) {
+            value = JSONValueNull.getInstance();
+            valueEnd = start + 4;
+        } else if (c == '-' || (c >= '0' && c <= '9')) {
+            valueEnd = JSONStringParser.scanNumber(str, start, end);
+            if (valueEnd < 0)
+                throw MISMATCH;
+            value = JSONValueNumber.valueOf(str, start, valueEnd);
+        } else {
+            throw MISMATCH;
+        }
+
+        if (!isBlank(valueEnd, end))
+            throw MISMATCH;
+        return value;
+    }
+
+    /**
+     * 游标处的结构字符，其与from之间必须只有可忽略字符
+     */
+    private char peek(int from) {
+        if (this.cursor >= this.size)
+            throw MISMATCH;
+        int pos = this.tape[this.cursor];
+        if (pos < 0 || !isBlank(from + 1, pos))
+            throw MISMATCH;
+        return this.str.charAt(pos);
+    }
+
+    /**
+     * 值之后的结构字符
+     * 值为标量时游标未移动，此时游标处的结构字符已在解析标量时校验
+     */
+    private char peekAfterValue(int from) {
+        if (this.cursor >= this.size)
+            throw MISMATCH;
+        int pos = this.tape[this.cursor];
+        if (pos < 0)
+            throw MISMATCH;
+        if (this.last > from && !isBlank(this.last + 1, pos))
+            throw MISMATCH;
+        return this.str.charAt(pos);
+    }
+
+    private boolean isBlank(int start, int end) {
+        final String str = this.str;
+        for (int i = start; i < end; i++) {
+            if (!isIgnorable(str.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,78 @@
+package org.r2.devkit.json.util;
+
+import org.junit.Test;
+import org.r2.devkit.json.JSONException;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 两阶段解析与顺序解析的一致性
+ * 对样本进行随机的删除、插入与替换，两者的解析结果与异常信息必须完全一致
+ */
+public class JSONTapeParserTest {
+
+    private static final String[] SAMPLES = {
+            "{\"a\":1,\"b\":[true,false,null],\"c\":{\"d\":\"e\"}}",
+            "[1,-2.5,3e10,\"x\\\"y\",{\"k\":\"\\u0041\\n\"},[]]",
+            " { 'single' : 'quot' , \"n\" : -0.0e-1 , \"o\" : { } } ",
+            "[{\"id\":1,\"tags\":[\"a\",\"b\"]},{\"id\":2,\"tags\":[]},{\"id\":3,\"name\":\"\\\\\"}]",
+            "{\"deep\":[[[[{\"x\":[1,[2,[3]]]}]]]]}",
+    };
+
+    // 变异时插入或替换的字符，以结构字符与标量的首字符为主
+    private static final String ALPHABET = "{}[]:,\"'\\ 0123456789-+.eEtrufalsn\n";
+
+    private static final int ROUNDS = 12000;
+
+    @Test
+    public void samples() {
+        for (String sample : SAMPLES)
+            assertSame(sample);
+    }
+
+    @Test
+    public void mutations() {
+        final Random random = new Random(4261);
+        for (String sample : SAMPLES) {
+            for (int i = 0; i < ROUNDS; i++) {
+                StringBuilder str = new StringBuilder(sample);
+                int count = 1 + random.nextInt(3);
+                for (int j = 0; j < count && str.length() > 0; j++) {
+                    int at = random.nextInt(str.length());
+                    char c = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+                    switch (random.nextInt(3)) {
+                        case 0:
+                            str.deleteCharAt(at);
+                            break;
+                        case 1:
+                            str.insert(at, c);
+                            break;
+                        default:
+                            str.setCharAt(at, c);
+                            break;
+                    }
+                }
+                if (str.length() > 0)
+                    assertSame(str.toString());
+            }
+        }
+    }
+
+    private static void assertSame(String str) {
+        assertEquals(str, parse(str, false), parse(str, true));
+    }
+
+    /**
+     * 解析结果与结束位置，或异常信息
+     */
+    private static String parse(String str, boolean tape) {
+        try {
+            Holder<?> holder = tape ? JSONTapeParser.parse2JSON(str, 0) : JSONStringParser.parse2JSON(str, 0);
+            return holder.getObject() + " @" + holder.getOffset();
+        } catch (JSONException e) {
+            return "JSONException: " + e.getMessage();
+        }
+    }
+}
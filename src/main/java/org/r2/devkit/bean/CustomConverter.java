@@ -72,6 +72,13 @@ public class CustomConverter {
         return convertGroup.convert(origin);
     }
 
+    /**
+     * 是否没有注册任何转换器
+     */
+    public boolean isEmpty() {
+        return this.beanConvertGroup.isEmpty();
+    }
+
     /**
      * 是否存在arg0向arg1的转换器
      */
@@ -16,6 +16,9 @@ import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.util.EntityUtils;
 import org.r2.devkit.Assert;
+import org.r2.devkit.json.JSON;
+import org.r2.devkit.json.JSONException;
+import org.r2.devkit.json.JSONFeedParser;
 
 import java.io.File;
 import java.io.IOException;
@@ -185,6 +188,33 @@ public interface CommonHttpAPI {
         return EntityUtils.toString(response.getEntity(), charset);
     }
 
+    /**
+     * 以UTF-8解析返回的主体内容，每读取一块数据即交给{@link JSONFeedParser}解析，不会缓冲完整的主体内容
+     *
+     * @throws IOException   IO流异常
+     * @throws JSONException 主体内容不是一个完整的JSON值
+     */
+    static JSON getJSON(HttpResponse response) throws IOException {
+        Assert.notNull(response);
+        HttpEntity entity = response.getEntity();
+        if (entity == null)
+            throw new JSONException("Response has no entity.");
+
+        JSONFeedParser parser = new JSONFeedParser();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = entity.getContent()) {
+            int n;
+            while ((n = in.read(buffer)) >= 0)
+                parser.feed(buffer, 0, n);
+        }
+        parser.finish();
+
+        JSON json = parser.poll();
+        if (json == null || parser.poll() != null)
+            throw new JSONException("Response entity is not a single JSON value.");
+        return json;
+    }
+
     /**
      * 返回http头中的Content-Length值
      * 如果返回头中没有该键，则此方法返回-1
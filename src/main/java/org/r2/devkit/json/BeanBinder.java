@@ -0,0 +1,314 @@
+package org.r2.devkit.json;
+
+import org.r2.devkit.BeanException;
+import org.r2.devkit.bean.BeanUtil;
+import org.r2.devkit.json.field.JSONValueBoolean;
+import org.r2.devkit.json.field.JSONValueNumber;
+import org.r2.devkit.json.util.JSONKeyMatcher;
+import org.r2.devkit.json.util.JSONStringParser;
+import org.r2.devkit.util.ReflectUtil;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.*;
+
+import static org.r2.devkit.json.JSONToken.*;
+
+/**
+ * 贫血模型的预编译绑定器，每个类只构造一次
+ * 由解析器游标直接驱动，键值对解析后立即写入实例字段，不会构造中间的JSONObject
+ *
+ * [适用范围]
+ * 与{@link BeanUtil#convert(Class, Object)}将JSONObject转换为贫血模型的结果完全一致
+ * 仅当该转换会使用空参构造器构造实例时可以绑定，其他情况（包括存在全局自定义转换器时）由调用方使用原有转换
+ * 字段与{@link BeanUtil#fillObject(Map, Object, int)}一致，包括父类字段，过滤static与final字段
+ * 无法转换的字段将被跳过
+ *
+ * [键的匹配]
+ * 字段名预编译为{@link JSONKeyMatcher}，解析时以键在源字符串中的区间直接定位字段，不会构造键的字符串
+ * 未知的键的值不构造任何对象直接跳过，跳过时仍完整校验语法
+ *
+ * @author ruan4261
+ */
+final class BeanBinder {
+
+    // static, final
+    private static final int FILTER = 8 + 16;
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /* 字段的转换方式 */
+    private static final int GENERIC = 0;
+    private static final int STRING = 1;
+    private static final int INTEGER = 2;
+    private static final int LONG = 3;
+    private static final int DOUBLE = 4;
+    private static final int FLOAT = 5;
+    private static final int SHORT = 6;
+    private static final int BYTE = 7;
+    private static final int BOOLEAN = 8;
+    // 基本类型字段无法通过BeanUtil#convert转换，总是被跳过
+    private static final int SKIP = 9;
+
+    private static final ClassValue<BeanBinder> CACHE = new ClassValue<BeanBinder>() {
+        @Override
+        protected BeanBinder computeValue(Class<?> type) {
+            return new BeanBinder(type);
+        }
+    };
+
+    private final Class<?> clazz;
+    // 不可绑定时为null
+    private final Constructor<?> constructor;
+    // 字段名，序号与slots的下标一致
+    private final JSONKeyMatcher matcher;
+    // 同名字段（父类与子类）共享同一个键
+    private final Slot[][] slots;
+
+    private BeanBinder(Class<?> clazz) {
+        this.clazz = clazz;
+        this.constructor = bindableConstructor(clazz);
+        Map<String, Slot[]> slots = this.constructor == null ? Collections.emptyMap() : compileSlots(clazz);
+        this.matcher = JSONKeyMatcher.of(slots.keySet());
+        this.slots = new Slot[slots.size()][];
+        int i = 0;
+        for (Slot[] slot : slots.values())
+            this.slots[i++] = slot;
+    }
+
+    /**
+     * 获取类的绑定器，类不可绑定时返回null
+     */
+    static BeanBinder of(Class<?> clazz) {
+        BeanBinder binder = CACHE.get(clazz);
+        return binder.constructor == null ? null : binder;
+    }
+
+    /**
+     * BeanUtil#convert转换JSONObject时，会依次判断以下情况，都不符合时才会调用map2Object
+     * map2Object按顺序尝试公共构造器，第一个构造器为空参构造器时才可以在解析之前构造实例
+     */
+    private static Constructor<?> bindableConstructor(Class<?> clazz) {
+        if (clazz.isPrimitive()
+                || clazz.isArray()
+                || clazz.isAssignableFrom(JSONObject.class)
+                || BeanUtil.isPrimitive(clazz)
+                || CharSequence.class.isAssignableFrom(clazz)
+                || Collection.class.isAssignableFrom(clazz)
+                || Map.class.isAssignableFrom(clazz))
+            return null;
+
+        Constructor<?>[] constructors = clazz.getConstructors();
+        if (constructors.length == 0 || constructors[0].getParameterCount() != 0)
+            return null;
+
+        try {
+            Constructor<?> constructor = constructors[0];
+            if (!constructor.isAccessible())
+                constructor.setAccessible(true);
+            return constructor;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, Slot[]> compileSlots(Class<?> clazz) {
+        Field[] fields = ReflectUtil.queryFields(clazz, FILTER, true);
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        Map<String, Slot[]> slots = new HashMap<>();
+        for (Field field : fields) {
+            MethodHandle setter;
+            try {
+                if (!field.isAccessible())
+                    field.setAccessible(true);
+                setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (IllegalAccessException | RuntimeException ignore) {
+                continue;
+            }
+
+            Slot slot = new Slot(field.getType(), setter);
+            Slot[] exist = slots.get(field.getName());
+            if (exist == null) {
+                slots.put(field.getName(), new Slot[]{slot});
+            } else {
+                Slot[] extend = Arrays.copyOf(exist, exist.length + 1);
+                extend[exist.length] = slot;
+                slots.put(field.getName(), extend);
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * 从解析器游标处绑定一个实例，游标处必须为JSONObject
+     * 实例无法通过空参构造器构造时，将解析出JSONObject并使用原有转换
+     *
+     * [重复的键]
+     * 原有方式中重复的键以最后一个值为准，且该值无法转换时字段保持初始值
+     * 绑定时字段已被之前的值修改，无法还原，因此遇到重复的键时抛出{@link DuplicateKeyException}，由调用方改用原有方式
+     *
+     * @throws BeanException 无法构造类实例
+     * @throws JSONException 解析失败
+     */
+    @SuppressWarnings("deprecation")
+    Object bind(JSONStringParser parser) {
+        final Object instance;
+        try {
+            instance = this.constructor.newInstance();
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            return BeanUtil.convert(this.clazz, parser.parseValue());
+        }
+
+        parser.parseObject(this.matcher, new Target(instance));
+        return instance;
+    }
+
+    /**
+     * 一次绑定过程中的实例与已出现的键
+     */
+    private final class Target implements JSONStringParser.IndexedFieldConsumer {
+        final Object instance;
+        long seen;
+        // 键超过64个时使用
+        long[] seenWords;
+
+        Target(Object instance) {
+            this.instance = instance;
+        }
+
+        @Override
+        public void accept(int i, JSONStringParser parser) {
+            if (i < 64) {
+                if ((this.seen & (1L << i)) != 0)
+                    throw new DuplicateKeyException();
+                this.seen |= 1L << i;
+            } else {
+                if (this.seenWords == null)
+                    this.seenWords = new long[(slots.length + 63) >>> 6];
+                long bit = 1L << (i & 63);
+                if ((this.seenWords[i >>> 6] & bit) != 0)
+                    throw new DuplicateKeyException();
+                this.seenWords[i >>> 6] |= bit;
+            }
+            bindField(this.instance, slots[i], parser);
+        }
+    }
+
+    /**
+     * 对象中出现重复的键，需要改用原有方式转换
+     */
+    static final class DuplicateKeyException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        DuplicateKeyException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private void bindField(Object instance, Slot[] slots, JSONStringParser parser) {
+        // 嵌套的贫血模型直接绑定
+        if (slots.length == 1 && parser.peek() == LBRACE) {
+            Slot slot = slots[0];
+            BeanBinder nested = slot.kind == GENERIC ? of(slot.type) : null;
+            if (nested != null) {
+                Object value;
+                try {
+                    value = nested.bind(parser);
+                } catch (BeanException ignore) {
+                    return;
+                }
+                slot.set(instance, value);
+                return;
+            }
+        }
+
+        JSON value = parser.parseValue();
+        for (Slot slot : slots) {
+            Object converted;
+            try {
+                converted = slot.convert(value);
+            } catch (BeanException ignore) {
+                continue;
+            }
+            slot.set(instance, converted);
+        }
+    }
+
+    private static final class Slot {
+        final Class<?> type;
+        final MethodHandle setter;
+        final int kind;
+
+        Slot(Class<?> type, MethodHandle setter) {
+            this.type = type;
+            this.setter = setter;
+            this.kind = kind(type);
+        }
+
+        private static int kind(Class<?> type) {
+            if (type.isPrimitive()) return SKIP;
+            if (type == String.class) return STRING;
+            if (type == Integer.class) return INTEGER;
+            if (type == Long.class) return LONG;
+            if (type == Double.class) return DOUBLE;
+            if (type == Float.class) return FLOAT;
+            if (type == Short.class) return SHORT;
+            if (type == Byte.class) return BYTE;
+            if (type == Boolean.class) return BOOLEAN;
+            return GENERIC;
+        }
+
+        /**
+         * 结果与BeanUtil#convert一致，常见的类型组合不经过反射判断
+         *
+         * @throws BeanException 无法转换
+         */
+        @SuppressWarnings("deprecation")
+        Object convert(JSON value) {
+            if (this.kind == SKIP)
+                throw new BeanException(this.type + " field is not supported.");
+            if (this.type.isInstance(value))
+                return value;
+
+            if (value instanceof JSONValueNumber) {
+                JSONValueNumber number = (JSONValueNumber) value;
+                switch (this.kind) {
+                    case INTEGER:
+                        return number.intValue();
+                    case LONG:
+                        return number.longValue();
+                    case DOUBLE:
+                        return number.doubleValue();
+                    case FLOAT:
+                        return number.getContainer().floatValue();
+                    case SHORT:
+                        return (short) number.intValue();
+                    case BYTE:
+                        return (byte) number.intValue();
+                    default:
+                        break;
+                }
+            } else if (value instanceof JSONValueBoolean && this.kind == BOOLEAN) {
+                return ((JSONValueBoolean) value).getContainer();
+            }
+
+            if (this.kind == STRING)
+                return value.toString();
+            return BeanUtil.convert(this.type, value);
+        }
+
+        void set(Object instance, Object value) {
+            try {
+                this.setter.invokeExact(instance, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new JSONException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.r2.devkit.json;
+
+import org.r2.devkit.json.serialize.JSONSerializer;
+import org.r2.devkit.util.ReflectUtil;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.r2.devkit.json.JSONToken.*;
+
+/**
+ * 贫血模型的预编译序列化器，每个类只构造一次
+ * 保存字段的访问句柄与转义后的键，序列化时直接将字段写入{@link JSONWriter}，不会构造中间Map
+ *
+ * [字段]
+ * 与{@link org.r2.devkit.bean.BeanUtil#object2Map(Object, int)}一致，包括父类字段，过滤static与transient字段
+ * 字段的输出顺序与其生成的HashMap的遍历顺序相同，因此序列化结果与通过Map序列化完全一致
+ *
+ * @author ruan4261
+ */
+final class BeanWriter {
+
+    // static, transient
+    private static final int FILTER = 8 + 128;
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<BeanWriter> CACHE = new ClassValue<BeanWriter>() {
+        @Override
+        protected BeanWriter computeValue(Class<?> type) {
+            return new BeanWriter(type);
+        }
+    };
+
+    // 转义并加上引号的键，包括之前的逗号与之后的冒号，例如 ,"name":
+    private final String[] keys;
+    private final MethodHandle[] getters;
+
+    private BeanWriter(Class<?> clazz) {
+        Field[] fields = ReflectUtil.queryFields(clazz, FILTER, true);
+
+        // 以object2Map相同的方式构造HashMap，取得相同的遍历顺序，同名字段以父类字段为准
+        Map<String, Field> order = new HashMap<>(fields.length);
+        for (Field field : fields)
+            order.put(field.getName(), field);
+
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        List<String> keys = new ArrayList<>(order.size());
+        List<MethodHandle> getters = new ArrayList<>(order.size());
+        for (Map.Entry<String, Field> entry : order.entrySet()) {
+            Field field = entry.getValue();
+            MethodHandle getter;
+            try {
+                if (!field.isAccessible())
+                    field.setAccessible(true);
+                getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            } catch (IllegalAccessException ignore) {
+                continue;
+            }
+
+            String key = JSONSerializer.escapeAndQuot(entry.getKey()) + COLON;
+            keys.add(keys.isEmpty() ? key : COMMA + key);
+            getters.add(getter);
+        }
+        this.keys = keys.toArray(new String[0]);
+        this.getters = getters.toArray(new MethodHandle[0]);
+    }
+
+    static BeanWriter of(Class<?> clazz) {
+        return CACHE.get(clazz);
+    }
+
+    /**
+     * 将实例的字段写入writer，字段值不使用自定义序列化方案
+     */
+    void write(JSONWriter writer, Object bean) throws IOException {
+        final String[] keys = this.keys;
+        final MethodHandle[] getters = this.getters;
+
+        writer.appendRaw(LBRACE);
+        for (int i = 0; i < keys.length; i++) {
+            Object value;
+            try {
+                value = getters[i].invokeExact(bean);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new JSONException(e);
+            }
+            writer.appendRaw(keys[i]);
+            writer.write(value, null);
+        }
+        writer.appendRaw(RBRACE);
+    }
+}
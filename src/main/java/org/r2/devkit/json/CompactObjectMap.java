@@ -0,0 +1,336 @@
+package org.r2.devkit.json;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * JSONObject默认使用的紧凑Map，按插入顺序遍历
+ *
+ * [结构]
+ * 键与值分别保存于两个平行数组中，不会为每个键值对创建节点对象
+ * 键值对数量不超过{@link #LINEAR_THRESHOLD}时直接线性查找（String的哈希值有缓存，比较开销很小）
+ * 超过后额外维护一个开放寻址（线性探测）的下标表，表中保存键值对在数组中的位置
+ *
+ * [删除]
+ * 删除时后续的键值对整体前移以保持插入顺序，下标表随之重建
+ * 解析得到的JSON很少删除键，因此不使用墓碑标记
+ *
+ * 允许null键与null值
+ *
+ * Thread unsafe
+ *
+ * @author ruan4261
+ */
+final class CompactObjectMap extends AbstractMap<String, Object> implements Serializable {
+    private static final long serialVersionUID = 1L;
+    static final int LINEAR_THRESHOLD = 8;
+
+    private String[] keys;
+    private Object[] values;
+    private int size;
+    // 下标表，保存位置+1，0表示空槽，键值对较少时为null
+    private int[] index;
+    private transient int modCount;
+    private transient Set<Map.Entry<String, Object>> entrySet;
+
+    CompactObjectMap() {
+        this(LINEAR_THRESHOLD);
+    }
+
+    CompactObjectMap(int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        this.keys = new String[Math.max(initialCapacity, 2)];
+        this.values = new Object[this.keys.length];
+    }
+
+    CompactObjectMap(Map<? extends String, ?> map) {
+        this(map.size());
+        this.putAll(map);
+    }
+
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private int indexOf(Object key) {
+        final String[] keys = this.keys;
+        final int[] index = this.index;
+        if (index == null) {
+            if (key == null) {
+                for (int i = 0; i < this.size; i++) {
+                    if (keys[i] == null)
+                        return i;
+                }
+                return -1;
+            }
+
+            final int h = key.hashCode();
+            for (int i = 0; i < this.size; i++) {
+                String k = keys[i];
+                if (k == key || (k != null && k.hashCode() == h && key.equals(k)))
+                    return i;
+            }
+            return -1;
+        }
+
+        final int mask = index.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            final int p = index[slot];
+            if (p == 0)
+                return -1;
+            String k = keys[p - 1];
+            if (k == key || (key != null && key.equals(k)))
+                return p - 1;
+        }
+    }
+
+    @Override
+    public Object get(Object key) {
+        int i = this.indexOf(key);
+        return i < 0 ? null : this.values[i];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.indexOf(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        final Object[] values = this.values;
+        for (int i = 0; i < this.size; i++) {
+            if (Objects.equals(value, values[i]))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int i = this.indexOf(key);
+        if (i >= 0) {
+            Object old = this.values[i];
+            this.values[i] = value;
+            return old;
+        }
+
+        i = this.size;
+        if (i == this.keys.length) {
+            this.keys = Arrays.copyOf(this.keys, i << 1);
+            this.values = Arrays.copyOf(this.values, i << 1);
+            if (this.index != null)
+                this.rebuildIndex();
+        }
+        this.keys[i] = key;
+        this.values[i] = value;
+        this.size = i + 1;
+        this.modCount++;
+
+        if (this.index != null)
+            this.insertIndex(i);
+        else if (this.size > LINEAR_THRESHOLD)
+            this.rebuildIndex();
+        return null;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int i = this.indexOf(key);
+        return i < 0 ? null : this.removeAt(i);
+    }
+
+    private Object removeAt(int i) {
+        final Object old = this.values[i];
+        final int moved = this.size - i - 1;
+        if (moved > 0) {
+            System.arraycopy(this.keys, i + 1, this.keys, i, moved);
+            System.arraycopy(this.values, i + 1, this.values, i, moved);
+        }
+        this.size--;
+        this.keys[this.size] = null;
+        this.values[this.size] = null;
+        this.modCount++;
+
+        if (this.index != null) {
+            if (this.size > LINEAR_THRESHOLD)
+                this.rebuildIndex();
+            else
+                this.index = null;
+        }
+        return old;
+    }
+
+    /**
+     * 清空时保留数组，以便复用
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(this.keys, 0, this.size, null);
+        Arrays.fill(this.values, 0, this.size, null);
+        this.size = 0;
+        this.index = null;
+        this.modCount++;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * 下标表的长度为键数组长度的两倍以上，装载因子不超过0.5
+     */
+    private void rebuildIndex() {
+        int length = Integer.highestOneBit(this.keys.length) << 2;
+        if (this.index == null || this.index.length != length)
+            this.index = new int[length];
+        else
+            Arrays.fill(this.index, 0);
+        for (int i = 0; i < this.size; i++)
+            this.insertIndex(i);
+    }
+
+    private void insertIndex(int i) {
+        final int[] index = this.index;
+        final int mask = index.length - 1;
+        int slot = hash(this.keys[i]) & mask;
+        while (index[slot] != 0)
+            slot = (slot + 1) & mask;
+        index[slot] = i + 1;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Object> action) {
+        final int expected = this.modCount;
+        for (int i = 0; i < this.size; i++) {
+            action.accept(this.keys[i], this.values[i]);
+            if (this.modCount != expected)
+                throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        Set<Map.Entry<String, Object>> entrySet = this.entrySet;
+        if (entrySet == null)
+            this.entrySet = entrySet = new EntrySet();
+        return entrySet;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            CompactObjectMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        int cursor;
+        int last = -1;
+        int expected = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return this.cursor < size;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (modCount != this.expected)
+                throw new ConcurrentModificationException();
+            if (this.cursor >= size)
+                throw new NoSuchElementException();
+            this.last = this.cursor++;
+            return new Entry(this.last);
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0)
+                throw new IllegalStateException();
+            if (modCount != this.expected)
+                throw new ConcurrentModificationException();
+            removeAt(this.last);
+            this.cursor = this.last;
+            this.last = -1;
+            this.expected = modCount;
+        }
+    }
+
+    /**
+     * 指向数组位置的键值对，setValue直接写入Map
+     * 删除其他键值对会使位置移动，因此访问时先确认该位置仍是同一个键，否则视为已脱离Map的键值对
+     */
+    private final class Entry implements Map.Entry<String, Object> {
+        private final int position;
+        private final String key;
+        private Object value;
+
+        Entry(int position) {
+            this.position = position;
+            this.key = keys[position];
+            this.value = values[position];
+        }
+
+        private boolean attached() {
+            return this.position < size && keys[this.position] == this.key;
+        }
+
+        @Override
+        public String getKey() {
+            return this.key;
+        }
+
+        @Override
+        public Object getValue() {
+            if (this.attached())
+                this.value = values[this.position];
+            return this.value;
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            Object old = this.getValue();
+            if (this.attached())
+                values[this.position] = value;
+            this.value = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return Objects.equals(this.getKey(), e.getKey()) && Objects.equals(this.getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.getKey()) ^ Objects.hashCode(this.getValue());
+        }
+
+        @Override
+        public String toString() {
+            return this.getKey() + "=" + this.getValue();
+        }
+    }
+}
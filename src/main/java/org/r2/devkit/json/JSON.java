@@ -2,12 +2,22 @@ package org.r2.devkit.json;
 
 import org.r2.devkit.BeanException;
 import org.r2.devkit.json.util.Holder;
+import org.r2.devkit.json.util.JSONByteParser;
 import org.r2.devkit.json.util.JSONParseCheck;
+import org.r2.devkit.json.util.JSONPointer;
 import org.r2.devkit.json.util.JSONStringParser;
+import org.r2.devkit.json.util.JSONValidator;
 import org.r2.devkit.Assert;
 import org.r2.devkit.bean.BeanUtil;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -46,14 +56,217 @@ public abstract class JSON implements JSONAware, Cloneable, Serializable {
         return holder.getObject();
     }
 
+    /**
+     * 以延迟方式解析JSONObject字符串
+     * 解析时只读取键并记录值的位置，各个值在首次读取时才会被解析，解析结果会被缓存
+     * 嵌套的JSONObject同样以延迟方式解析，适用于只读取大型JSON中少数字段的场景
+     *
+     * 返回的实例完整实现了Map接口，但值内部的语法错误（括号嵌套与字符串边界除外）在首次读取该值时才会抛出
+     * 返回的实例持有源字符串的引用
+     *
+     * @return JSONObject实例
+     * @throws JSONException 字符串不规范，无法解析
+     */
+    public static JSONObject parseLazy(String str) {
+        Assert.notEmpty(str);
+
+        Holder<JSONObject> holder = JSONStringParser.parse2Custom(str, 0, parser -> LazyObjectMap.parse(str, parser));
+
+        // 判断字符串剩余部分是否可忽略，不可忽略则抛出异常
+        JSONParseCheck.ignore(str, holder.getOffset(), "String cannot parse to JSONObject : " + str);
+        return holder.getObject();
+    }
+
+    /**
+     * 以事件驱动的方式解析JSON字符串，按文档顺序回调handler，不构造任何JSON对象
+     * 语法规则与{@link #parse(String)}一致，需要构造JSON对象时可使用{@link JSONTreeBuilder}
+     *
+     * @throws JSONException 字符串不规范，无法解析，此前的事件已经回调
+     * @see JSONHandler
+     */
+    public static void parse(String str, JSONHandler handler) {
+        Assert.notEmpty(str);
+        Assert.notNull(handler);
+
+        Holder<Object> holder = JSONStringParser.parse2Custom(str, 0, parser -> {
+            parser.parseValue(handler);
+            return null;
+        });
+
+        // 判断字符串剩余部分是否可忽略，不可忽略则抛出异常
+        JSONParseCheck.ignore(str, holder.getOffset(), "String cannot parse to JSON : " + str);
+    }
+
+    /**
+     * 从JSON字符串中提取路径指向的值，不会构造路径之外的任何值
+     * 路径支持RFC6901 JSON Pointer（如/data/items/3/price）与点分路径（如$.data.items[3].price）
+     * 需要重复使用同一路径时，可通过{@link JSONPointer#compile(String)}预先编译
+     *
+     * @param json JSON字符串
+     * @param path JSON Pointer或点分路径
+     * @return 路径指向的值，路径不存在时返回null
+     * @throws JSONException 路径经过的部分无法解析
+     * @see JSONPointer
+     */
+    public static JSON extract(String json, String path) {
+        return JSONPointer.compile(path).extract(json);
+    }
+
+    /**
+     * 校验JSON字符串的语法，不构造任何对象
+     * 校验通过当且仅当{@link #parse(String)}可以成功解析，且嵌套层数不超过{@link JSONValidator#DEFAULT_MAX_DEPTH}
+     *
+     * @return 参数为null或空字符串时返回false
+     * @see JSONValidator
+     */
+    public static boolean validate(CharSequence str) {
+        return validate(str, JSONValidator.DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * 校验JSON字符串的语法，不构造任何对象
+     *
+     * @param maxDepth 允许的最大嵌套层数
+     * @see JSON#validate(CharSequence)
+     */
+    public static boolean validate(CharSequence str, int maxDepth) {
+        if (str == null || str.length() == 0)
+            return false;
+        return JSONValidator.indexOfError(str, maxDepth) < 0;
+    }
+
+    /**
+     * 校验UTF-8字节数组的语法，不构造任何对象
+     * 校验通过当且仅当{@link #parse(byte[])}可以成功解析，且嵌套层数不超过{@link JSONValidator#DEFAULT_MAX_DEPTH}
+     *
+     * @return 参数为null时返回false
+     * @see JSONValidator
+     */
+    public static boolean validate(byte[] utf8) {
+        return validate(utf8, JSONValidator.DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * 校验UTF-8字节数组的语法，不构造任何对象
+     *
+     * @param maxDepth 允许的最大嵌套层数
+     * @see JSON#validate(byte[])
+     */
+    public static boolean validate(byte[] utf8, int maxDepth) {
+        if (utf8 == null)
+            return false;
+        return JSONValidator.indexOfError(utf8, 0, utf8.length, maxDepth) < 0;
+    }
+
+    /**
+     * 解析UTF-8字节数组，不会将输入整体解码为字符串
+     * 值字符串在首次读取时才会解码，在此之前请勿修改参数数组的内容
+     *
+     * @return JSON对象的实现
+     * @throws JSONException 字节内容不规范，无法解析
+     * @see JSONByteParser
+     */
+    public static JSON parse(byte[] utf8) {
+        Assert.notNull(utf8);
+        return JSONByteParser.parse(utf8, 0, utf8.length);
+    }
+
+    /**
+     * 解析UTF-8字节数组中的指定片段
+     *
+     * @see JSON#parse(byte[])
+     */
+    public static JSON parse(byte[] utf8, int offset, int length) {
+        return JSONByteParser.parse(utf8, offset, length);
+    }
+
+    /**
+     * 解析ByteBuffer中position至limit之间的UTF-8内容，参数的position与limit不会被修改
+     * 值字符串在首次读取时才会解码，在此之前请勿修改缓冲区的内容
+     *
+     * @see JSON#parse(byte[])
+     */
+    public static JSON parse(ByteBuffer utf8) {
+        return JSONByteParser.parse(utf8);
+    }
+
+    /**
+     * 解析UTF-8编码的JSON文件，文件以只读方式映射至内存，内容不会被读入堆中
+     * 值字符串在首次读取时才从映射中解码，超过2GB的文件分多个窗口映射
+     *
+     * @return JSON对象的实现
+     * @throws JSONException 文件内容不规范，无法解析
+     * @throws IOException   文件无法打开或映射
+     * @see JSONByteParser#parse(FileChannel)
+     */
+    public static JSON parseFile(Path path) throws IOException {
+        Assert.notNull(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return JSONByteParser.parse(channel);
+        }
+    }
+
+    /**
+     * 从字符流中解析JSON，解析过程中不会将输入完整读入内存
+     * 本方法不会关闭参数流
+     *
+     * @return JSON对象的实现
+     * @throws JSONException 输入不规范，无法解析
+     * @throws IOException   IO流异常
+     * @see JSONReader
+     */
+    public static JSON parse(Reader reader) throws IOException {
+        JSONReader jsonReader = new JSONReader(reader);
+        JSON json = jsonReader.nextValue();
+
+        // 判断输入剩余部分是否可忽略，不可忽略则抛出异常
+        jsonReader.peek();
+        return json;
+    }
+
+    /**
+     * 以UTF-8字符集从字节流中解析JSON
+     * 本方法不会关闭参数流
+     *
+     * @see JSON#parse(Reader)
+     */
+    public static JSON parse(InputStream in) throws IOException {
+        Assert.notNull(in);
+        JSONReader jsonReader = new JSONReader(in);
+        JSON json = jsonReader.nextValue();
+        jsonReader.peek();
+        return json;
+    }
+
 
     /**
      * 解析json字符串
      * 输出为clazz类型实例
      *
+     * 字符串为JSONObject且目标为可通过空参构造器构造的贫血模型时，解析时直接填充实例字段，不会构造中间的JSONObject
+     * 其他情况下先解析为JSON对象，再通过{@link BeanUtil#convert(Class, Object)}转换，两种方式的结果一致
+     *
      * @throws BeanException 无法成功构造目标实例
      */
+    @SuppressWarnings("unchecked")
     public static <T> T parse(String str, Class<T> clazz) throws BeanException {
+        final BeanBinder binder = clazz != null && BeanUtil.CONVERTER.isEmpty() ? BeanBinder.of(clazz) : null;
+        if (binder != null && str != null && !str.isEmpty()) {
+            try {
+                Holder<Object> holder = JSONStringParser.parse2Custom(str, 0,
+                        parser -> parser.peek() == JSONToken.LBRACE ? binder.bind(parser) : null);
+
+                // 根元素不是JSONObject时没有消费任何内容，使用原有转换
+                if (holder.getObject() != null) {
+                    JSONParseCheck.ignore(str, holder.getOffset(), "String cannot parse to JSON : " + str);
+                    return (T) holder.getObject();
+                }
+            } catch (BeanBinder.DuplicateKeyException ignore) {
+                // 原有方式中重复的键以最后一个值为准，绑定时字段已被修改，重新以原有方式处理，保证结果与原有方式一致
+                // 语法错误由JSONException直接抛出，原有方式同样会抛出
+            }
+        }
+
         JSON json = parse(str);
         return BeanUtil.convert(clazz, json);
     }
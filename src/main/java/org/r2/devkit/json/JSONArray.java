@@ -3,12 +3,17 @@ package org.r2.devkit.json;
 import org.r2.devkit.serialize.CustomSerializer;
 import org.r2.devkit.json.custom.CustomizableSerialization;
 import org.r2.devkit.json.serialize.JSONSerializer;
+import org.r2.devkit.json.util.JSONParallelParser;
 import org.r2.devkit.json.util.JSONParseCheck;
 import org.r2.devkit.json.util.JSONStringParser;
 import org.r2.devkit.json.util.Holder;
 import org.r2.devkit.Assert;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * @author ruan4261
@@ -58,6 +63,36 @@ public final class JSONArray extends JSON implements CustomizableSerialization,
         this.container = new ArrayList<>(collection);
     }
 
+    /**
+     * 构造以基本类型数组保存数值元素的JSONArray，存储方式由第一个加入的元素决定
+     * 整数以long[]保存，小数以double[]保存，读取时按需构造JSONValueNumber，序列化时直接由数组输出
+     * 加入其他类型的元素后，内部转换为普通的List
+     */
+    public static JSONArray primitiveArray(int initialCapacity) {
+        return new JSONArray(new PrimitiveArrayList(initialCapacity));
+    }
+
+    /**
+     * 以long[]保存元素的JSONArray，参数数组会被复制
+     *
+     * @see #primitiveArray(int)
+     */
+    public static JSONArray of(long... values) {
+        Assert.notNull(values, "values");
+        return new JSONArray(new PrimitiveArrayList(values));
+    }
+
+    /**
+     * 以double[]保存元素的JSONArray，参数数组会被复制
+     *
+     * @throws JSONException 参数中含有NaN或无穷大
+     * @see #primitiveArray(int)
+     */
+    public static JSONArray of(double... values) {
+        Assert.notNull(values, "values");
+        return new JSONArray(new PrimitiveArrayList(values));
+    }
+
     /**
      * 完全替换当前对象序列化机制
      */
@@ -91,6 +126,46 @@ public final class JSONArray extends JSON implements CustomizableSerialization,
         return holder.getObject();
     }
 
+    /**
+     * 完整字符串解析调用接口，元素在公共线程池中并行解析
+     *
+     * @see #parseArrayParallel(String, ForkJoinPool)
+     */
+    public static JSONArray parseArrayParallel(String str) {
+        return parseArrayParallel(str, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 完整字符串解析调用接口，元素在参数线程池中并行解析，适用于元素数量很多的顶层数组
+     * 解析结果与异常信息都与{@link #parseArray(String)}一致，输入较小时直接顺序解析
+     *
+     * @see JSONParallelParser
+     */
+    public static JSONArray parseArrayParallel(String str, ForkJoinPool pool) {
+        Holder<JSONArray> holder = JSONParallelParser.parse2JSONArray(str, 0, pool);
+
+        // 判断字符串剩余部分是否可忽略，不可忽略则抛出异常
+        JSONParseCheck.ignore(str, holder.getOffset(), "String cannot parse to JSONArray : " + str);
+
+        return holder.getObject();
+    }
+
+    /**
+     * 从字符流中解析JSONArray，本方法不会关闭参数流
+     *
+     * @see JSONReader
+     */
+    public static JSONArray parseArray(Reader reader) throws IOException {
+        JSONReader jsonReader = new JSONReader(reader);
+        if (jsonReader.peek() != JSONReader.Token.BEGIN_ARRAY)
+            throw new JSONException("Stream cannot parse to JSONArray(off " + jsonReader.position() + ")");
+
+        JSONArray json = (JSONArray) jsonReader.nextValue();
+        // 判断输入剩余部分是否可忽略，不可忽略则抛出异常
+        jsonReader.peek();
+        return json;
+    }
+
     public List<Object> innerList() {
         return this.container;
     }
@@ -103,6 +178,25 @@ public final class JSONArray extends JSON implements CustomizableSerialization,
         return JSONSerializer.collection2JSONString(this, this.customSerializer);
     }
 
+    /**
+     * 键按字典序输出的JSON字符串，包括嵌套的JSON对象
+     *
+     * @see JSONSerializer#canonical(Object, CustomSerializer)
+     */
+    public String toCanonicalJSONString() {
+        return JSONSerializer.canonical(this, this.customSerializer);
+    }
+
+    /**
+     * 直接序列化至字符流，不会生成中间字符串
+     */
+    @Override
+    public void writeJSONString(Writer writer) throws IOException {
+        JSONWriter jsonWriter = new JSONWriter(writer);
+        jsonWriter.writeCollection(this, this.customSerializer);
+        jsonWriter.flush();
+    }
+
     @Override
     public String toString() {
         return this.toJSONString();
@@ -110,6 +204,8 @@ public final class JSONArray extends JSON implements CustomizableSerialization,
 
     @Override
     public Object clone() {
+        if (this.container instanceof PrimitiveArrayList)
+            return new JSONArray(((PrimitiveArrayList) this.container).copy());
         return new JSONArray(new ArrayList<>(this.container));
     }
 
@@ -1,5 +1,8 @@
 package org.r2.devkit.json;
 
+import java.io.IOException;
+import java.io.Writer;
+
 /**
  * @author ruan4261
  */
@@ -7,4 +10,15 @@ public interface JSONAware {
 
     String toJSONString();
 
-}
\ No newline at end of file
+    /**
+     * 将JSON字符串写入字符流，本方法不会关闭参数流
+     * 默认实现写入{@link #toJSONString()}的结果，容器类型会直接序列化至字符流
+     *
+     * @throws IOException 写入异常
+     * @see JSONWriter
+     */
+    default void writeJSONString(Writer writer) throws IOException {
+        writer.write(this.toJSONString());
+    }
+
+}
@@ -0,0 +1,581 @@
+package org.r2.devkit.json;
+
+import org.r2.devkit.Assert;
+import org.r2.devkit.json.util.JSONByteParser;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+import static org.r2.devkit.json.JSONToken.*;
+
+/**
+ * 增量式UTF-8 JSON解析器，输入以任意大小的分块依次传入，解析状态在各次调用之间保留
+ * 适用于网络响应等分块到达的输入，解析与IO可以交替进行，不需要缓冲完整的输入
+ *
+ * [使用]
+ * 每收到一块数据调用{@link #feed(byte[], int, int)}或{@link #feed(ByteBuffer)}，输入结束后调用{@link #finish()}
+ * 返回{@link Status#VALUE_AVAILABLE}时，通过{@link #poll()}取出已完成的顶层值
+ * 输入中可以依次出现多个顶层值，每个值完成后都可以被取出
+ * 相邻的顶层值之间必须至少有一个JSON语法可忽略字符，例如true1或"a""b"将抛出JSONException
+ *
+ * 示例（NIO通道）：
+ * while (channel.read(buffer) >= 0) {
+ * buffer.flip();
+ * if (parser.feed(buffer) == Status.VALUE_AVAILABLE) handle(parser.poll());
+ * buffer.clear();
+ * }
+ * parser.finish();
+ *
+ * [事件模式]
+ * 以{@link #JSONFeedParser(JSONHandler)}构造时，不构造任何JSON对象，解析结果以事件的形式交给handler，{@link #poll()}总是返回null
+ *
+ * [语法]
+ * 与{@link org.r2.devkit.json.util.JSONByteParser}保持一致，允许以单引号作为字符串边界，输入开头的UTF-8 BOM会被忽略
+ * 分块的边界可以位于任意位置，包括多字节UTF-8序列与转义序列的中间
+ * 位于输入末尾的数值在调用{@link #finish()}时才能确定结束
+ *
+ * [异常]
+ * 解析失败时抛出JSONException，异常信息中的偏移量为该字节在整个输入中的位置，此后实例不可再使用
+ *
+ * Thread unsafe
+ *
+ * @author ruan4261
+ */
+public final class JSONFeedParser {
+
+    /**
+     * 一次输入之后的状态
+     */
+    public enum Status {
+        /**
+         * 没有已完成且未取出的值，需要更多输入
+         */
+        NEED_MORE_INPUT,
+        /**
+         * 存在已完成的值，可通过{@link #poll()}取出
+         */
+        VALUE_AVAILABLE
+    }
+
+    /* 语法状态 */
+    private static final int TOP = 0;
+    private static final int EMPTY_OBJECT = 1;
+    private static final int DANGLING_KEY = 2;// 已读取键，等待冒号
+    private static final int OBJECT_VALUE = 3;// 已读取冒号，等待值
+    private static final int NONEMPTY_OBJECT = 4;
+    private static final int OBJECT_KEY = 5;// 已读取逗号，等待键
+    private static final int EMPTY_ARRAY = 6;
+    private static final int ARRAY_VALUE = 7;// 已读取逗号，等待值
+    private static final int NONEMPTY_ARRAY = 8;
+
+    /* 词法状态，记号可以跨越多次输入 */
+    private static final int LEX_NONE = 0;
+    private static final int LEX_STRING = 1;
+    private static final int LEX_ESCAPE = 2;
+    private static final int LEX_UNICODE = 3;
+    private static final int LEX_NUMBER = 4;
+    private static final int LEX_LITERAL = 5;
+
+    private final JSONHandler handler;
+    // 构造JSON对象时的处理器，事件模式下为null
+    private final JSONTreeBuilder builder;
+    private final ArrayDeque<JSON> values = new ArrayDeque<>();
+
+    private int[] stack = new int[32];
+    private int stackSize;
+
+    private int lex = LEX_NONE;
+    // 字符串：引号、内容字节、是否含有转义符、是否为键、剩余的\\u十六进制位数
+    private byte quot;
+    private byte[] bytes = new byte[64];
+    private int bytesCount;
+    private boolean escaped;
+    private boolean key;
+    private int unicodeRemaining;
+    // 数值：文本与校验状态
+    private final StringBuilder number = new StringBuilder();
+    private boolean point;
+    private boolean exponent;
+    private boolean sign;
+    // 整数与小数部分、指数部分的数字个数
+    private int digits;
+    private int expDigits;
+    // 字面量：期望的内容与已匹配的长度
+    private String literal;
+    private int literalMatched;
+
+    // 已消费的字节数
+    private long position;
+    // 上一个顶层值之后是否已出现可忽略字符，输入开头视为已分隔
+    private boolean separated = true;
+    // 开头的BOM已匹配的字节数，-1表示已经不需要检查
+    private int bom;
+    private boolean failed;
+
+    /**
+     * 构造JSON对象，已完成的顶层值通过{@link #poll()}取出
+     */
+    public JSONFeedParser() {
+        this.builder = new JSONTreeBuilder();
+        this.handler = this.builder;
+        this.stack[this.stackSize++] = TOP;
+    }
+
+    /**
+     * 事件模式，解析结果以事件的形式交给handler
+     */
+    public JSONFeedParser(JSONHandler handler) {
+        Assert.notNull(handler, "handler");
+        this.builder = null;
+        this.handler = handler;
+        this.stack[this.stackSize++] = TOP;
+    }
+
+    /**
+     * 输入一块数据
+     *
+     * @throws JSONException 输入不规范
+     */
+    public Status feed(byte[] chunk) {
+        Assert.notNull(chunk);
+        return this.feed(chunk, 0, chunk.length);
+    }
+
+    /**
+     * 输入数组中的一个片段
+     *
+     * @throws JSONException 输入不规范
+     */
+    public Status feed(byte[] chunk, int offset, int length) {
+        Assert.notNull(chunk);
+        Assert.judge(() -> offset < 0 || length < 0 || length > chunk.length - offset,
+                "Series length is " + chunk.length + ", but offset is " + offset + ", length is " + length);
+        this.checkState();
+        try {
+            for (int i = offset, end = offset + length; i < end; ) {
+                if (this.accept(chunk[i]))
+                    i++;
+            }
+        } catch (RuntimeException e) {
+            this.failed = true;
+            throw e;
+        }
+        return this.status();
+    }
+
+    /**
+     * 输入ByteBuffer中position至limit之间的内容，结束后position等于limit
+     *
+     * @throws JSONException 输入不规范
+     */
+    public Status feed(ByteBuffer chunk) {
+        Assert.notNull(chunk);
+        if (chunk.hasArray()) {
+            Status status = this.feed(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+            chunk.position(chunk.limit());
+            return status;
+        }
+
+        this.checkState();
+        try {
+            while (chunk.hasRemaining()) {
+                if (this.accept(chunk.get(chunk.position())))
+                    chunk.position(chunk.position() + 1);
+            }
+        } catch (RuntimeException e) {
+            this.failed = true;
+            throw e;
+        }
+        return this.status();
+    }
+
+    /**
+     * 表明输入已经结束，结束位于末尾的数值
+     *
+     * @throws JSONException 输入在某个值的中间结束
+     */
+    public Status finish() {
+        this.checkState();
+        try {
+            if (this.lex == LEX_NUMBER)
+                this.endNumber();
+            if (this.lex != LEX_NONE || this.stackSize > 1)
+                throw this.error("Bytes cannot parse, unexpected end");
+        } catch (RuntimeException e) {
+            this.failed = true;
+            throw e;
+        }
+        return this.status();
+    }
+
+    /**
+     * 取出最早完成的顶层值，没有时返回null
+     */
+    public JSON poll() {
+        return this.values.poll();
+    }
+
+    /**
+     * 当前是否位于两个顶层值之间，即已输入的内容都已构成完整的值
+     */
+    public boolean isIdle() {
+        return this.lex == LEX_NONE && this.stackSize == 1;
+    }
+
+    /**
+     * 已消费的字节数
+     */
+    public long position() {
+        return this.position;
+    }
+
+    private Status status() {
+        return this.values.isEmpty() ? Status.NEED_MORE_INPUT : Status.VALUE_AVAILABLE;
+    }
+
+    private void checkState() {
+        if (this.failed)
+            throw new JSONException("JSONFeedParser has failed and cannot be reused.");
+    }
+
+    /**
+     * 处理一个字节
+     *
+     * @return 是否消费了该字节，数值结束时分隔符需要再次处理
+     */
+    private boolean accept(byte b) {
+        switch (this.lex) {
+            case LEX_STRING:
+                this.string(b);
+                break;
+            case LEX_ESCAPE:
+                this.escape(b);
+                break;
+            case LEX_UNICODE:
+                if (hex(b) < 0)
+                    throw this.error("Bytes cannot escape");
+                this.append(b);
+                if (--this.unicodeRemaining == 0)
+                    this.lex = LEX_STRING;
+                break;
+            case LEX_NUMBER:
+                if (!this.number(b))
+                    return false;
+                break;
+            case LEX_LITERAL:
+                if (b != this.literal.charAt(this.literalMatched++))
+                    throw this.error("Bytes cannot parse to " + this.literal);
+                if (this.literalMatched == this.literal.length())
+                    this.endLiteral();
+                break;
+            default:
+                if (this.bom >= 0 && this.bom(b))
+                    break;
+                this.structure(b);
+        }
+        this.position++;
+        return true;
+    }
+
+    /**
+     * 输入开头的UTF-8 BOM
+     *
+     * @return 该字节是否属于BOM
+     */
+    private boolean bom(byte b) {
+        if (this.position == this.bom && b == (byte) (this.bom == 0 ? 0xEF : this.bom == 1 ? 0xBB : 0xBF)) {
+            this.bom = this.bom == 2 ? -1 : this.bom + 1;
+            return true;
+        }
+        if (this.bom > 0)
+            throw this.error("Bytes cannot parse");
+        this.bom = -1;
+        return false;
+    }
+
+    /**
+     * 记号之间的字节
+     */
+    @SuppressWarnings("fallthrough")
+    private void structure(byte b) {
+        if (isIgnorable((char) (b & 0xFF))) {
+            this.separated = true;
+            return;
+        }
+
+        final int top = this.stackSize - 1;
+        switch (this.stack[top]) {
+            case EMPTY_OBJECT:
+                if (b == RBRACE) {
+                    this.endContainer();
+                    this.handler.endObject();
+                    this.afterValue();
+                    return;
+                }
+                // 非空对象的第一个键
+            case OBJECT_KEY:
+                if (b != QUOT && b != DOUBLE_QUOT)
+                    throw this.error("Bytes cannot parse, miss quotation");
+                this.startString(b, true);
+                return;
+            case DANGLING_KEY:
+                if (b != COLON)
+                    throw this.error("Bytes cannot parse, miss colon");
+                this.stack[top] = OBJECT_VALUE;
+                return;
+            case NONEMPTY_OBJECT:
+                if (b == COMMA) {
+                    this.stack[top] = OBJECT_KEY;
+                } else if (b == RBRACE) {
+                    this.endContainer();
+                    this.handler.endObject();
+                    this.afterValue();
+                } else
+                    throw this.error("Bytes cannot parse, miss comma");
+                return;
+            case EMPTY_ARRAY:
+                if (b == RBRACKET) {
+                    this.endContainer();
+                    this.handler.endArray();
+                    this.afterValue();
+                    return;
+                }
+                this.value(b);
+                return;
+            case NONEMPTY_ARRAY:
+                if (b == COMMA) {
+                    this.stack[top] = ARRAY_VALUE;
+                } else if (b == RBRACKET) {
+                    this.endContainer();
+                    this.handler.endArray();
+                    this.afterValue();
+                } else
+                    throw this.error("Bytes cannot parse, miss comma");
+                return;
+            case TOP:
+                if (!this.separated)
+                    throw this.error("Bytes cannot parse, miss separator");
+                this.value(b);
+                return;
+            default:
+                // OBJECT_VALUE, ARRAY_VALUE
+                this.value(b);
+        }
+    }
+
+    /**
+     * 值的首字节
+     */
+    private void value(byte b) {
+        final int top = this.stackSize - 1;
+        switch (this.stack[top]) {
+            case OBJECT_VALUE:
+                this.stack[top] = NONEMPTY_OBJECT;
+                break;
+            case EMPTY_ARRAY:
+            case ARRAY_VALUE:
+                this.stack[top] = NONEMPTY_ARRAY;
+                break;
+            default:
+                // TOP保持不变，之后可以出现下一个顶层值
+        }
+
+        switch (b) {
+            case QUOT:
+            case DOUBLE_QUOT:
+                this.startString(b, false);
+                return;
+            case LBRACE:
+                this.push(EMPTY_OBJECT);
+                this.handler.startObject();
+                return;
+            case LBRACKET:
+                this.push(EMPTY_ARRAY);
+                this.handler.startArray();
+                return;
+            case 't':
+                this.startLiteral("true");
+                return;
+            case 'f':
+                this.startLiteral("false");
+                return;
+            case 'n':
+                this.startLiteral("null");
+                return;
+            default:
+                if (b == '-' || (b >= '0' && b <= '9')) {
+                    this.lex = LEX_NUMBER;
+                    this.number.setLength(0);
+                    this.number.append((char) b);
+                    this.point = this.exponent = this.sign = false;
+                    this.digits = b == '-' ? 0 : 1;
+                    this.expDigits = 0;
+                    return;
+                }
+                // 首字符不可用
+                throw this.error("Bytes cannot parse");
+        }
+    }
+
+    /**
+     * 一个值已经结束，位于顶层时取出构造结果
+     */
+    private void afterValue() {
+        if (this.stackSize > 1)
+            return;
+        this.separated = false;
+        if (this.builder != null) {
+            this.values.add(this.builder.getResult());
+            this.builder.reset();
+        }
+    }
+
+    private void push(int scope) {
+        if (this.stackSize == this.stack.length)
+            this.stack = Arrays.copyOf(this.stack, this.stackSize << 1);
+        this.stack[this.stackSize++] = scope;
+    }
+
+    private void endContainer() {
+        this.stackSize--;
+    }
+
+    /* 字符串 */
+
+    private void startString(byte quot, boolean key) {
+        this.lex = LEX_STRING;
+        this.quot = quot;
+        this.key = key;
+        this.escaped = false;
+        this.bytesCount = 0;
+    }
+
+    private void string(byte b) {
+        if (b == this.quot) {
+            this.lex = LEX_NONE;
+            String str = JSONByteParser.decodeString(ByteBuffer.wrap(this.bytes, 0, this.bytesCount), 0, this.bytesCount, this.escaped);
+            if (this.key) {
+                this.handler.key(str);
+                this.stack[this.stackSize - 1] = DANGLING_KEY;
+            } else {
+                this.handler.value(str);
+                this.afterValue();
+            }
+            return;
+        }
+
+        if (b == REVERSE_SOLIDUS) {
+            this.escaped = true;
+            this.lex = LEX_ESCAPE;
+        }
+        this.append(b);
+    }
+
+    private void escape(byte b) {
+        switch (b) {
+            case QUOT:
+            case DOUBLE_QUOT:
+            case REVERSE_SOLIDUS:
+            case SOLIDUS:
+            case LINE_FEED_CHAR:
+            case TAB_CHAR:
+            case CARRIAGE_RETURN_CHAR:
+            case BACKSPACE_CHAR:
+            case FORM_FEED_CHAR:
+                this.lex = LEX_STRING;
+                break;
+            case UNICODE_CHAR:
+                this.lex = LEX_UNICODE;
+                this.unicodeRemaining = 4;
+                break;
+            default:
+                throw this.error("Bytes cannot escape");
+        }
+        this.append(b);
+    }
+
+    private void append(byte b) {
+        if (this.bytesCount == this.bytes.length)
+            this.bytes = Arrays.copyOf(this.bytes, this.bytesCount << 1);
+        this.bytes[this.bytesCount++] = b;
+    }
+
+    /* 数值，校验规则与JSONByteParser一致 */
+
+    /**
+     * @return 是否消费了该字节，遇到分隔符时数值结束且不消费
+     */
+    private boolean number(byte c) {
+        if (isIgnorable((char) (c & 0xFF)) || c == COMMA || c == RBRACE || c == RBRACKET) {
+            this.endNumber();
+            return false;
+        } else if (c == '.') {
+            if (this.point)
+                throw this.error("Bytes cannot parse to number");
+            this.point = true;
+        } else if (c == 'e' || c == 'E') {
+            if (this.exponent)
+                throw this.error("Bytes cannot parse to number");
+            this.exponent = this.point = true;
+        } else if (c == '-' || c == '+') {
+            if (this.sign || !this.exponent)
+                throw this.error("Bytes cannot parse to number");
+
+            char prev = this.number.charAt(this.number.length() - 1);
+            if (prev != 'e' && prev != 'E')
+                throw this.error("Bytes cannot parse to number");
+
+            this.sign = true;
+        } else if (c >= '0' && c <= '9') {
+            if (this.exponent)
+                this.expDigits++;
+            else
+                this.digits++;
+        } else
+            throw this.error("Bytes cannot parse to number");
+
+        this.number.append((char) c);
+        return true;
+    }
+
+    private void endNumber() {
+        // 单独的负号，或指数部分没有数字
+        if (this.digits == 0 || (this.exponent && this.expDigits == 0))
+            throw this.error("Bytes cannot parse to number");
+        this.lex = LEX_NONE;
+        this.handler.number(this.number, 0, this.number.length());
+        this.afterValue();
+    }
+
+    /* 字面量 */
+
+    private void startLiteral(String literal) {
+        this.lex = LEX_LITERAL;
+        this.literal = literal;
+        this.literalMatched = 1;
+    }
+
+    private void endLiteral() {
+        this.lex = LEX_NONE;
+        if (this.literal.charAt(0) == 'n')
+            this.handler.nullValue();
+        else
+            this.handler.value(this.literal.charAt(0) == 't');
+        this.afterValue();
+    }
+
+    private static int hex(byte b) {
+        if (b >= '0' && b <= '9')
+            return b - '0';
+        else if (b >= 'a' && b <= 'f')
+            return b - 'a' + 10;
+        else if (b >= 'A' && b <= 'F')
+            return b - 'A' + 10;
+        return -1;
+    }
+
+    private JSONException error(String mes) {
+        return new JSONException(mes + "(off " + this.position + ")");
+    }
+}
@@ -0,0 +1,81 @@
+package org.r2.devkit.json;
+
+import org.r2.devkit.json.field.JSONValueNumber;
+
+/**
+ * 事件驱动的JSON处理器
+ * 解析器按文档顺序回调各方法，不会构造任何JSON对象，适用于只需要聚合或转发值的场景
+ *
+ * [事件顺序]
+ * 对象：startObject，每个键值对依次为key与值的事件，endObject
+ * 数组：startArray，每个元素的事件，endArray
+ * 值：value(CharSequence)、number(...)、value(boolean)、nullValue()之一，或一组对象/数组事件
+ *
+ * 示例：
+ * JSON.parse(str, handler);
+ *
+ * @author ruan4261
+ * @see JSON#parse(String, JSONHandler)
+ * @see JSONTreeBuilder
+ */
+public interface JSONHandler {
+
+    void startObject();
+
+    /**
+     * 对象中的键，之后紧跟其值的事件
+     */
+    void key(String key);
+
+    void endObject();
+
+    void startArray();
+
+    void endArray();
+
+    /**
+     * 字符串值，已去除引号并完成转义
+     */
+    void value(CharSequence str);
+
+    void value(long number);
+
+    void value(double number);
+
+    void value(boolean bool);
+
+    void nullValue();
+
+    /**
+     * 数值，参数为其在源字符串中的文本，语法已由解析器校验
+     * 默认实现中，有效数字不超过18位的整数回调{@link #value(long)}，其他数值回调{@link #value(double)}
+     * 需要保留完整精度时可重写本方法，例如通过{@link JSONValueNumber#valueOf(CharSequence, int, int)}构造
+     */
+    default void number(CharSequence text, int start, int end) {
+        int i = start;
+        final boolean negative = text.charAt(i) == '-';
+        if (negative)
+            i++;
+
+        // 不超过18位的整数，不会创建任何对象
+        if (end - i <= 18) {
+            long value = 0;
+            for (; i < end; i++) {
+                char c = text.charAt(i);
+                if (c < '0' || c > '9')
+                    break;
+                value = value * 10 + (c - '0');
+            }
+            if (i == end) {
+                this.value(negative ? -value : value);
+                return;
+            }
+        }
+
+        JSONValueNumber number = JSONValueNumber.valueOf(text, start, end);
+        if (number.isLong())
+            this.value(number.longValue());
+        else
+            this.value(number.doubleValue());
+    }
+}
@@ -8,9 +8,14 @@ import org.r2.devkit.json.util.JSONStringParser;
 import org.r2.devkit.json.util.Holder;
 import org.r2.devkit.Assert;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.*;
 
 /**
+ * 默认以{@link CompactObjectMap}保存键值对，遍历与序列化的顺序即键的插入顺序（解析得到的实例即源字符串中的顺序）
+ *
  * @author ruan4261
  */
 public final class JSONObject extends JSON implements CustomizableSerialization, Map<String, Object> {
@@ -25,7 +30,7 @@ public final class JSONObject extends JSON implements CustomizableSerialization,
     }
 
     public JSONObject(int initialCapacity) {
-        this.container = new HashMap<>(initialCapacity);
+        this.container = new CompactObjectMap(initialCapacity);
     }
 
     public JSONObject(Map<String, Object> map) {
@@ -40,7 +45,7 @@ public final class JSONObject extends JSON implements CustomizableSerialization,
     public JSONObject(Map<String, Object> map, boolean newContainer) {
         Assert.notNull(map, "map");
         if (newContainer)
-            this.container = new HashMap<>(map);
+            this.container = new CompactObjectMap(map);
         else
             this.container = map;
     }
@@ -78,6 +83,22 @@ public final class JSONObject extends JSON implements CustomizableSerialization,
         return holder.getObject();
     }
 
+    /**
+     * 从字符流中解析JSONObject，本方法不会关闭参数流
+     *
+     * @see JSONReader
+     */
+    public static JSONObject parseObject(Reader reader) throws IOException {
+        JSONReader jsonReader = new JSONReader(reader);
+        if (jsonReader.peek() != JSONReader.Token.BEGIN_OBJECT)
+            throw new JSONException("Stream cannot parse to JSONObject(off " + jsonReader.position() + ")");
+
+        JSONObject json = (JSONObject) jsonReader.nextValue();
+        // 判断输入剩余部分是否可忽略，不可忽略则抛出异常
+        jsonReader.peek();
+        return json;
+    }
+
     public Map<String, Object> innerMap() {
         return this.container;
     }
@@ -90,6 +111,25 @@ public final class JSONObject extends JSON implements CustomizableSerialization,
         return JSONSerializer.map2JSONString(this, this.customSerializer);
     }
 
+    /**
+     * 键按字典序输出的JSON字符串，包括嵌套的JSON对象
+     *
+     * @see JSONSerializer#canonical(Object, CustomSerializer)
+     */
+    public String toCanonicalJSONString() {
+        return JSONSerializer.canonical(this, this.customSerializer);
+    }
+
+    /**
+     * 直接序列化至字符流，不会生成中间字符串
+     */
+    @Override
+    public void writeJSONString(Writer writer) throws IOException {
+        JSONWriter jsonWriter = new JSONWriter(writer);
+        jsonWriter.writeMap(this, this.customSerializer);
+        jsonWriter.flush();
+    }
+
     @Override
     public String toString() {
         return this.toJSONString();
@@ -97,7 +137,7 @@ public final class JSONObject extends JSON implements CustomizableSerialization,
 
     @Override
     public Object clone() {
-        return new JSONObject(new HashMap<>(this.container));
+        return new JSONObject(new CompactObjectMap(this.container));
     }
 
     @Override
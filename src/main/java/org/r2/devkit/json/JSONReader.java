@@ -0,0 +1,640 @@
+package org.r2.devkit.json;
+
+import org.r2.devkit.Assert;
+import org.r2.devkit.json.field.JSONValueBoolean;
+import org.r2.devkit.json.field.JSONValueNull;
+import org.r2.devkit.json.field.JSONValueNumber;
+import org.r2.devkit.json.field.JSONValueString;
+import org.r2.devkit.json.util.JSONKeyTable;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.r2.devkit.json.JSONToken.*;
+
+/**
+ * 基于字符流的拉取式JSON解析器
+ * 与{@link JSON#parse(String)}不同，本解析器不需要预先将JSON文本完整读入内存
+ * 内部仅维护一个固定大小的缓冲区，解析时按需从输入流中补充字符
+ *
+ * [使用]
+ * 通过{@link #peek()}获取下一个记号的类型，再调用对应的next方法消费该记号
+ * 例如：
+ * reader.beginObject();
+ * while (reader.hasNext()) {
+ * String key = reader.nextKey();
+ * if ("id".equals(key)) id = reader.nextNumber().longValue();
+ * else reader.skipValue();
+ * }
+ * reader.endObject();
+ *
+ * [语法]
+ * 与{@link org.r2.devkit.json.util.JSONStringParser}保持一致，允许以单引号作为字符串边界
+ * 整个输入流中只允许存在一个JSON值，其前后只允许出现JSON语法可忽略字符
+ *
+ * Thread unsafe
+ *
+ * @author ruan4261
+ */
+public final class JSONReader implements Closeable {
+
+    /**
+     * 拉取式解析的记号类型
+     */
+    public enum Token {
+        BEGIN_OBJECT,
+        END_OBJECT,
+        BEGIN_ARRAY,
+        END_ARRAY,
+        KEY,
+        STRING,
+        NUMBER,
+        BOOLEAN,
+        NULL,
+        END_DOCUMENT
+    }
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final int MIN_BUFFER_SIZE = 16;
+
+    /* 作用域状态 */
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int DANGLING_KEY = 3;// 已读取键，等待冒号
+    private static final int NONEMPTY_OBJECT = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    private final Reader in;
+    private final char[] buffer;
+    private int pos;
+    private int limit;
+    // 已经从缓冲区中丢弃的字符数量，用于计算绝对偏移量
+    private long discarded;
+
+    private int[] stack = new int[32];
+    private int stackSize;
+
+    // 已被peek但还未消费的记号
+    private Token peeked;
+
+    // 用于拼接字符串与数值的复用容器
+    private final StringBuilder scratch = new StringBuilder();
+    // 键的符号表，为null时不使用
+    private JSONKeyTable keyTable = new JSONKeyTable();
+
+    public JSONReader(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param bufferSize 缓冲区大小，解析过程中不会扩容
+     */
+    public JSONReader(Reader reader, int bufferSize) {
+        Assert.notNull(reader, "reader");
+        this.in = reader;
+        this.buffer = new char[Math.max(bufferSize, MIN_BUFFER_SIZE)];
+        this.stack[this.stackSize++] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * 以UTF-8字符集读取字节流
+     */
+    public JSONReader(InputStream in) {
+        this(in, StandardCharsets.UTF_8);
+    }
+
+    public JSONReader(InputStream in, Charset charset) {
+        this(new InputStreamReader(in, charset == null ? StandardCharsets.UTF_8 : charset));
+    }
+
+    /**
+     * 获取下一个记号的类型，不会消费该记号
+     *
+     * @throws JSONException 输入不规范
+     */
+    public Token peek() throws IOException {
+        if (this.peeked != null)
+            return this.peeked;
+
+        int c;
+        final int top = this.stackSize - 1;
+        switch (this.stack[top]) {
+            case EMPTY_DOCUMENT:
+                this.stack[top] = NONEMPTY_DOCUMENT;
+                c = nextNonIgnorable();
+                if (c == -1)
+                    throw syntaxError("Stream is empty");
+                break;
+            case NONEMPTY_DOCUMENT:
+                c = nextNonIgnorable();
+                if (c == -1)
+                    return this.peeked = Token.END_DOCUMENT;
+                throw syntaxError("Stream cannot parse, redundant content");
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                c = nextNonIgnorable();
+                if (c == RBRACE)
+                    return this.peeked = Token.END_OBJECT;
+                if (this.stack[top] == NONEMPTY_OBJECT) {
+                    if (c != COMMA)
+                        throw syntaxError("Stream cannot parse, miss comma");
+                    this.pos++;
+                    c = nextNonIgnorable();
+                }
+                if (c != QUOT && c != DOUBLE_QUOT)
+                    throw syntaxError("Stream cannot parse, miss quotation");
+                this.stack[top] = DANGLING_KEY;
+                return this.peeked = Token.KEY;
+            case DANGLING_KEY:
+                if (nextNonIgnorable() != COLON)
+                    throw syntaxError("Stream cannot parse, miss colon");
+                this.pos++;
+                this.stack[top] = NONEMPTY_OBJECT;
+                c = nextNonIgnorable();
+                break;
+            case EMPTY_ARRAY:
+                this.stack[top] = NONEMPTY_ARRAY;
+                c = nextNonIgnorable();
+                if (c == RBRACKET)
+                    return this.peeked = Token.END_ARRAY;
+                break;
+            case NONEMPTY_ARRAY:
+                c = nextNonIgnorable();
+                if (c == RBRACKET)
+                    return this.peeked = Token.END_ARRAY;
+                if (c != COMMA)
+                    throw syntaxError("Stream cannot parse, miss comma");
+                this.pos++;
+                c = nextNonIgnorable();
+                break;
+            default:
+                throw new JSONException("JSONReader#peek() scope state has bug.");
+        }
+
+        // 值的首字符
+        switch (c) {
+            case LBRACE:
+                return this.peeked = Token.BEGIN_OBJECT;
+            case LBRACKET:
+                return this.peeked = Token.BEGIN_ARRAY;
+            case QUOT:
+            case DOUBLE_QUOT:
+                return this.peeked = Token.STRING;
+            case 't':
+            case 'f':
+                return this.peeked = Token.BOOLEAN;
+            case 'n':
+                return this.peeked = Token.NULL;
+            case -1:
+                throw syntaxError("Stream cannot parse, unexpected end");
+            default:
+                if (c == '-' || (c >= '0' && c <= '9'))
+                    return this.peeked = Token.NUMBER;
+                throw syntaxError("Stream cannot parse");
+        }
+    }
+
+    /**
+     * 消费下一个记号并返回其类型
+     * 键与值类型的记号内容将被直接跳过，不会构造任何对象
+     */
+    public Token nextToken() throws IOException {
+        Token token = peek();
+        switch (token) {
+            case BEGIN_OBJECT:
+                beginObject();
+                break;
+            case END_OBJECT:
+                endObject();
+                break;
+            case BEGIN_ARRAY:
+                beginArray();
+                break;
+            case END_ARRAY:
+                endArray();
+                break;
+            case KEY:
+            case STRING:
+                this.peeked = null;
+                skipString(this.buffer[this.pos]);
+                break;
+            case NUMBER:
+            case BOOLEAN:
+            case NULL:
+                skipValue();
+                break;
+            default:
+                break;
+        }
+        return token;
+    }
+
+    /**
+     * 当前对象或数组中是否还有未消费的元素
+     */
+    public boolean hasNext() throws IOException {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    public void beginObject() throws IOException {
+        expect(Token.BEGIN_OBJECT);
+        this.pos++;
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() throws IOException {
+        expect(Token.END_OBJECT);
+        this.pos++;
+        this.stackSize--;
+    }
+
+    public void beginArray() throws IOException {
+        expect(Token.BEGIN_ARRAY);
+        this.pos++;
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() throws IOException {
+        expect(Token.END_ARRAY);
+        this.pos++;
+        this.stackSize--;
+    }
+
+    /**
+     * 设置读取键时使用的符号表
+     * 默认启用，键的种类很多时可传入null关闭
+     */
+    public JSONReader setKeyTable(JSONKeyTable keyTable) {
+        this.keyTable = keyTable;
+        return this;
+    }
+
+    /**
+     * 读取键，启用符号表时相同内容的键返回同一个实例
+     */
+    public String nextKey() throws IOException {
+        expect(Token.KEY);
+        readString(this.buffer[this.pos]);
+        final JSONKeyTable keys = this.keyTable;
+        return keys == null ? this.scratch.toString() : keys.lookup(this.scratch, 0, this.scratch.length());
+    }
+
+    public String nextString() throws IOException {
+        expect(Token.STRING);
+        readString(this.buffer[this.pos]);
+        return this.scratch.toString();
+    }
+
+    public JSONValueNumber nextNumber() throws IOException {
+        expect(Token.NUMBER);
+        readNumber();
+        return JSONValueNumber.valueOf(this.scratch, 0, this.scratch.length());
+    }
+
+    public boolean nextBoolean() throws IOException {
+        expect(Token.BOOLEAN);
+        if (this.buffer[this.pos] == 't') {
+            readLiteral("true");
+            return true;
+        } else {
+            readLiteral("false");
+            return false;
+        }
+    }
+
+    public void nextNull() throws IOException {
+        expect(Token.NULL);
+        readLiteral("null");
+    }
+
+    /**
+     * 将下一个值完整解析为JSON对象
+     * 该值为对象或数组时，其内部的所有元素都会被构造
+     */
+    public JSON nextValue() throws IOException {
+        switch (peek()) {
+            case BEGIN_OBJECT:
+                beginObject();
+                JSONObject object = new JSONObject();
+                while (hasNext()) {
+                    String key = nextKey();
+                    object.put(key, nextValue());
+                }
+                endObject();
+                return object;
+            case BEGIN_ARRAY:
+                beginArray();
+                JSONArray array = new JSONArray();
+                while (hasNext())
+                    array.add(nextValue());
+                endArray();
+                return array;
+            case STRING:
+                return new JSONValueString(nextString());
+            case NUMBER:
+                return nextNumber();
+            case BOOLEAN:
+                return nextBoolean() ? JSONValueBoolean.getInstanceTrue() : JSONValueBoolean.getInstanceFalse();
+            case NULL:
+                nextNull();
+                return JSONValueNull.getInstance();
+            default:
+                throw syntaxError("Stream cannot parse, expected a value but was " + this.peeked);
+        }
+    }
+
+    /**
+     * 跳过下一个值，如果该值为对象或数组，其内部元素将被全部跳过
+     * 如果下一个记号为键，将同时跳过该键与其对应的值
+     * 跳过的内容不会构造任何对象
+     */
+    public void skipValue() throws IOException {
+        int depth = 0;
+        for (; ; ) {
+            Token token = peek();
+            switch (token) {
+                case BEGIN_OBJECT:
+                    beginObject();
+                    depth++;
+                    break;
+                case BEGIN_ARRAY:
+                    beginArray();
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    depth--;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    depth--;
+                    break;
+                case KEY:
+                    this.peeked = null;
+                    skipString(this.buffer[this.pos]);
+                    // 键之后必定是值，继续循环
+                    continue;
+                case STRING:
+                    this.peeked = null;
+                    skipString(this.buffer[this.pos]);
+                    break;
+                case NUMBER:
+                    this.peeked = null;
+                    readNumber();
+                    break;
+                case BOOLEAN:
+                    this.peeked = null;
+                    readLiteral(this.buffer[this.pos] == 't' ? "true" : "false");
+                    break;
+                case NULL:
+                    this.peeked = null;
+                    readLiteral("null");
+                    break;
+                default:
+                    throw syntaxError("Stream cannot skip value, expected a value but was " + token);
+            }
+            if (depth <= 0)
+                return;
+        }
+    }
+
+    /**
+     * 当前解析位置相对于输入流起点的字符偏移量
+     */
+    public long position() {
+        return this.discarded + this.pos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.peeked = null;
+        this.stackSize = 0;
+        this.in.close();
+    }
+
+    /* 内部实现 */
+
+    private void expect(Token token) throws IOException {
+        Token actual = peek();
+        if (actual != token)
+            throw syntaxError("Expected " + token + " but was " + actual);
+        this.peeked = null;
+    }
+
+    private void push(int scope) {
+        if (this.stackSize == this.stack.length) {
+            int[] newStack = new int[this.stackSize << 1];
+            System.arraycopy(this.stack, 0, newStack, 0, this.stackSize);
+            this.stack = newStack;
+        }
+        this.stack[this.stackSize++] = scope;
+    }
+
+    /**
+     * 跳过JSON语法可忽略字符，返回下一个字符但不消费
+     * 输入流结束时返回-1
+     */
+    private int nextNonIgnorable() throws IOException {
+        for (; ; ) {
+            if (this.pos == this.limit && !fill(1))
+                return -1;
+            char c = this.buffer[this.pos];
+            if (!isIgnorable(c))
+                return c;
+            this.pos++;
+        }
+    }
+
+    /**
+     * 保证缓冲区内至少有minimum个未消费字符
+     * 已消费的字符将被丢弃，未消费的字符被移动至缓冲区头部
+     *
+     * @return 输入流已结束且字符数量不足时返回false
+     */
+    private boolean fill(int minimum) throws IOException {
+        char[] buffer = this.buffer;
+        int remain = this.limit - this.pos;
+        if (this.pos > 0) {
+            System.arraycopy(buffer, this.pos, buffer, 0, remain);
+            this.discarded += this.pos;
+            this.pos = 0;
+            this.limit = remain;
+        }
+
+        int read;
+        while (this.limit < buffer.length
+                && (read = this.in.read(buffer, this.limit, buffer.length - this.limit)) != -1) {
+            this.limit += read;
+            if (this.limit >= minimum)
+                return true;
+        }
+        return this.limit >= minimum;
+    }
+
+    /**
+     * 从pos位置的引号开始读取一个字符串至scratch中，pos将移动至结尾引号之后
+     * 无转义字符的片段将整体复制
+     */
+    private void readString(char quot) throws IOException {
+        final StringBuilder body = this.scratch;
+        body.setLength(0);
+        this.pos++;// 跳过第一个quot符
+
+        for (; ; ) {
+            final char[] buffer = this.buffer;
+            final int start = this.pos;
+            final int l = this.limit;
+            int p = start;
+            for (; p < l; p++) {
+                char c = buffer[p];
+                if (c == quot) {
+                    body.append(buffer, start, p - start);
+                    this.pos = p + 1;
+                    return;
+                } else if (c == REVERSE_SOLIDUS)
+                    break;
+            }
+
+            body.append(buffer, start, p - start);
+            this.pos = p;
+            if (p < l) {
+                // 下一个字符转义
+                this.pos++;
+                body.append(readEscape());
+            } else if (!fill(1))
+                throw syntaxError("Stream cannot parse, miss quotation mark");
+        }
+    }
+
+    /**
+     * 跳过pos位置的字符串，不构造任何对象
+     */
+    private void skipString(char quot) throws IOException {
+        this.pos++;// 跳过第一个quot符
+
+        for (; ; ) {
+            final char[] buffer = this.buffer;
+            while (this.pos < this.limit) {
+                char c = buffer[this.pos++];
+                if (c == quot) {
+                    return;
+                } else if (c == REVERSE_SOLIDUS) {
+                    readEscape();
+                }
+            }
+            if (!fill(1))
+                throw syntaxError("Stream cannot parse, miss quotation mark");
+        }
+    }
+
+    /**
+     * pos位于反斜杠之后，解析转义字符
+     */
+    private char readEscape() throws IOException {
+        if (this.pos == this.limit && !fill(1))
+            throw syntaxError("Stream cannot escape");
+
+        char c = this.buffer[this.pos++];
+        switch (c) {
+            case QUOT:
+            case DOUBLE_QUOT:
+            case REVERSE_SOLIDUS:
+            case SOLIDUS:
+                return c;
+            case LINE_FEED_CHAR:
+                return LINE_FEED;
+            case TAB_CHAR:
+                return TAB;
+            case CARRIAGE_RETURN_CHAR:
+                return CARRIAGE_RETURN;
+            case BACKSPACE_CHAR:
+                return BACKSPACE;
+            case FORM_FEED_CHAR:
+                return FORM_FEED;
+            case UNICODE_CHAR:
+                if (this.limit - this.pos < 4 && !fill(4))
+                    throw syntaxError("Stream cannot escape");
+
+                int unicode = 0;
+                for (int i = 0; i < 4; i++) {
+                    char uni = this.buffer[this.pos++];
+                    if (uni >= '0' && uni <= '9') {
+                        unicode = (unicode << 4) + uni - '0';
+                    } else if (uni >= 'a' && uni <= 'f') {
+                        unicode = (unicode << 4) + uni - 'a' + 10;
+                    } else if (uni >= 'A' && uni <= 'F') {
+                        unicode = (unicode << 4) + uni - 'A' + 10;
+                    } else
+                        throw syntaxError("Stream cannot escape");
+                }
+                return (char) unicode;
+            default:
+                throw syntaxError("Stream cannot escape");
+        }
+    }
+
+    /**
+     * 读取一个数值的全部字符至scratch中，校验规则与{@link org.r2.devkit.json.util.JSONStringParser}一致
+     * 遇到JSON语法可忽略字符或 , 或 } 或 ] 字符或输入流结束时返回
+     */
+    private void readNumber() throws IOException {
+        final StringBuilder body = this.scratch;
+        body.setLength(0);
+        body.append(this.buffer[this.pos++]);
+
+        boolean point = false;
+        boolean exponent = false;
+        boolean sign = false;
+
+        for (; ; ) {
+            if (this.pos == this.limit && !fill(1))
+                return;
+
+            char c = this.buffer[this.pos];
+            if (isIgnorable(c) || c == COMMA || c == RBRACE || c == RBRACKET) {
+                return;
+            } else if (c == '.') {
+                if (point)
+                    throw syntaxError("Stream cannot parse to number");
+                point = true;
+            } else if (c == 'e' || c == 'E') {
+                if (exponent)
+                    throw syntaxError("Stream cannot parse to number");
+                exponent = point = true;
+            } else if (c == '-' || c == '+') {
+                if (sign || !exponent)
+                    throw syntaxError("Stream cannot parse to number");
+
+                char prev = body.charAt(body.length() - 1);
+                if (prev != 'e' && prev != 'E')
+                    throw syntaxError("Stream cannot parse to number");
+
+                sign = true;
+            } else if (!(c >= '0' && c <= '9'))
+                throw syntaxError("Stream cannot parse to number");
+
+            body.append(c);
+            this.pos++;
+        }
+    }
+
+    private void readLiteral(String literal) throws IOException {
+        final int len = literal.length();
+        if (this.limit - this.pos < len && !fill(len))
+            throw syntaxError("Stream cannot parse to " + literal);
+
+        for (int i = 0; i < len; i++) {
+            if (this.buffer[this.pos + i] != literal.charAt(i))
+                throw syntaxError("Stream cannot parse to " + literal);
+        }
+        this.pos += len;
+    }
+
+    private JSONException syntaxError(String mes) {
+        return new JSONException(mes + "(off " + position() + ")");
+    }
+}
@@ -64,6 +64,23 @@ public final class JSONToken {
     public static final char BACKSPACE = '\b';          // u0008 %08 \b
     public static final char FORM_FEED = '\f';          // u000C %0C \f
 
+    /*
+    输出时需转义字符的查找表，下标为字符，值为反斜杠之后的符号，0代表无需转义
+    需转义的字符都在ASCII范围内
+    */
+    private static final char[] ESCAPE_TABLE = new char[128];
+
+    static {
+        ESCAPE_TABLE[QUOT] = QUOT;
+        ESCAPE_TABLE[DOUBLE_QUOT] = DOUBLE_QUOT;
+        ESCAPE_TABLE[LINE_FEED] = LINE_FEED_CHAR;
+        ESCAPE_TABLE[CARRIAGE_RETURN] = CARRIAGE_RETURN_CHAR;
+        ESCAPE_TABLE[TAB] = TAB_CHAR;
+        ESCAPE_TABLE[FORM_FEED] = FORM_FEED_CHAR;
+        ESCAPE_TABLE[BACKSPACE] = BACKSPACE_CHAR;
+        ESCAPE_TABLE[REVERSE_SOLIDUS] = REVERSE_SOLIDUS;
+    }
+
     /**
      * 在非键值内容的情况下，即解析JSON语法模式的情况下
      * 判断一个字符是否可忽视
@@ -107,19 +124,15 @@ public final class JSONToken {
      * 例如 \r \n \b \t 等无法观察到的字符
      */
     public static boolean isEscapeChar(char c) {
-        switch (c) {
-            case QUOT:
-            case DOUBLE_QUOT:
-            case LINE_FEED:
-            case CARRIAGE_RETURN:
-            case TAB:
-            case FORM_FEED:
-            case BACKSPACE:
-            case REVERSE_SOLIDUS:
-                return true;
-            default:
-                return false;
-        }
+        return c < ESCAPE_TABLE.length && ESCAPE_TABLE[c] != 0;
+    }
+
+    /**
+     * 获取转义字符在反斜杠之后的符号，例如换行符返回 n
+     * 无需转义时返回0
+     */
+    public static char escapeSymbol(char c) {
+        return c < ESCAPE_TABLE.length ? ESCAPE_TABLE[c] : 0;
     }
 
     public static char[] escape(char c) {
@@ -0,0 +1,141 @@
+package org.r2.devkit.json;
+
+import org.r2.devkit.json.field.JSONValueBoolean;
+import org.r2.devkit.json.field.JSONValueNull;
+import org.r2.devkit.json.field.JSONValueNumber;
+import org.r2.devkit.json.field.JSONValueString;
+
+import java.util.ArrayList;
+
+/**
+ * 以事件构造JSON对象的处理器，构造结果与{@link JSON#parse(String)}一致
+ * 数值保留完整精度，不经过long与double
+ *
+ * 示例：
+ * JSONTreeBuilder builder = new JSONTreeBuilder();
+ * JSON.parse(str, builder);
+ * JSON json = builder.getResult();
+ *
+ * Thread unsafe
+ *
+ * @author ruan4261
+ */
+public final class JSONTreeBuilder implements JSONHandler {
+
+    // 尚未结束的JSONObject与JSONArray
+    private final ArrayList<JSON> stack = new ArrayList<>();
+    // 与stack对应，JSONObject等待值的键，JSONArray为null
+    private final ArrayList<String> keys = new ArrayList<>();
+    private JSON result;
+
+    /**
+     * 最近一个完整的顶层值，尚未构造完成时为null
+     */
+    public JSON getResult() {
+        return this.result;
+    }
+
+    /**
+     * 清空状态，以便构造下一个值
+     */
+    public JSONTreeBuilder reset() {
+        this.stack.clear();
+        this.keys.clear();
+        this.result = null;
+        return this;
+    }
+
+    private void add(JSON value) {
+        final int top = this.stack.size() - 1;
+        if (top < 0) {
+            this.result = value;
+            return;
+        }
+
+        JSON container = this.stack.get(top);
+        if (container instanceof JSONObject) {
+            String key = this.keys.set(top, null);
+            if (key == null)
+                throw new JSONException("JSONTreeBuilder received a value without key.");
+            ((JSONObject) container).put(key, value);
+        } else
+            ((JSONArray) container).add(value);
+    }
+
+    private void push(JSON container) {
+        this.add(container);
+        this.result = null;
+        this.stack.add(container);
+        this.keys.add(null);
+    }
+
+    private void pop(Class<? extends JSON> type) {
+        final int top = this.stack.size() - 1;
+        if (top < 0 || !type.isInstance(this.stack.get(top)))
+            throw new JSONException("JSONTreeBuilder received an unmatched end of " + type.getSimpleName() + ".");
+
+        JSON container = this.stack.remove(top);
+        this.keys.remove(top);
+        if (top == 0)
+            this.result = container;
+    }
+
+    @Override
+    public void startObject() {
+        this.push(new JSONObject());
+    }
+
+    @Override
+    public void key(String key) {
+        final int top = this.stack.size() - 1;
+        if (top < 0 || !(this.stack.get(top) instanceof JSONObject))
+            throw new JSONException("JSONTreeBuilder received a key outside of JSONObject.");
+        this.keys.set(top, key);
+    }
+
+    @Override
+    public void endObject() {
+        this.pop(JSONObject.class);
+    }
+
+    @Override
+    public void startArray() {
+        this.push(new JSONArray());
+    }
+
+    @Override
+    public void endArray() {
+        this.pop(JSONArray.class);
+    }
+
+    @Override
+    public void value(CharSequence str) {
+        this.add(new JSONValueString(str.toString()));
+    }
+
+    @Override
+    public void value(long number) {
+        this.add(new JSONValueNumber(number, 0));
+    }
+
+    @Override
+    public void value(double number) {
+        String text = Double.toString(number);
+        this.add(JSONValueNumber.valueOf(text, 0, text.length()));
+    }
+
+    @Override
+    public void value(boolean bool) {
+        this.add(bool ? JSONValueBoolean.getInstanceTrue() : JSONValueBoolean.getInstanceFalse());
+    }
+
+    @Override
+    public void nullValue() {
+        this.add(JSONValueNull.getInstance());
+    }
+
+    @Override
+    public void number(CharSequence text, int start, int end) {
+        this.add(JSONValueNumber.valueOf(text, start, end));
+    }
+}
@@ -0,0 +1,361 @@
+package org.r2.devkit.json;
+
+import org.r2.devkit.Assert;
+import org.r2.devkit.bean.BeanUtil;
+import org.r2.devkit.json.field.JSONValueNull;
+import org.r2.devkit.json.field.JSONValueString;
+import org.r2.devkit.serialize.CustomSerializer;
+
+import java.io.*;
+import java.lang.reflect.Array;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.r2.devkit.json.JSONToken.*;
+
+/**
+ * 流式JSON序列化器
+ * 将对象一次性写入Appendable、Writer或UTF-8字节流，各级嵌套结构不会生成中间字符串
+ *
+ * [缓冲]
+ * 目标为StringBuilder时直接写入，其他目标会先写入内部的定长缓冲区
+ * 写入完毕后需调用{@link #flush()}，否则缓冲区中的内容不会到达目标
+ *
+ * [序列化规则]
+ * 与{@link org.r2.devkit.json.serialize.JSONSerializer#serializer(Object, CustomSerializer)}一致
+ *
+ * [键排序]
+ * 默认按Map的遍历顺序写入键值对（JSONObject即插入顺序）
+ * 通过{@link #setSortKeys(boolean)}开启后，各级JSON对象的键都按字典序（UTF-16编码单元）写入，输出与键的插入顺序无关
+ * 数值按其原有文本写入，不做规范化，因此1.0与1、1e2与100的输出不同
+ *
+ * 示例：
+ * try (JSONWriter writer = new JSONWriter(outputStream)) {
+ * writer.write(jsonObject);
+ * }
+ *
+ * Thread unsafe
+ *
+ * @author ruan4261
+ */
+public final class JSONWriter implements Flushable, Closeable {
+
+    private static final int BUFFER_SIZE = 1024;
+    // static, transient
+    private static final int BEAN_FILTER = 8 + 128;
+
+    // 类本身是否重写了toString()，按类缓存
+    private static final ClassValue<Boolean> OWN_TO_STRING = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return BeanUtil.hasOwnMethod(type, "toString", 8);
+        }
+    };
+
+    private final Appendable out;
+    // 目标为StringBuilder时为null
+    private final char[] buffer;
+    private int count;
+    private boolean sortKeys;
+
+    /**
+     * @param out 写入目标，为Writer时将以字符数组整块写入
+     */
+    public JSONWriter(Appendable out) {
+        Assert.notNull(out, "out");
+        this.out = out;
+        this.buffer = out instanceof StringBuilder ? null : new char[BUFFER_SIZE];
+    }
+
+    /**
+     * 以UTF-8编码写入字节流
+     */
+    public JSONWriter(OutputStream out) {
+        this(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 是否按字典序写入JSON对象的键，对之后的写入生效
+     */
+    public JSONWriter setSortKeys(boolean sortKeys) {
+        this.sortKeys = sortKeys;
+        return this;
+    }
+
+    public boolean isSortKeys() {
+        return this.sortKeys;
+    }
+
+    /**
+     * 写入一个对象，不使用自定义序列化方案
+     *
+     * @throws IOException 写入目标异常
+     */
+    public JSONWriter write(Object object) throws IOException {
+        return this.write(object, null);
+    }
+
+    /**
+     * 写入一个对象
+     * 优先级：
+     * 1.null值的序列化只可能是null
+     * 2.确切的类自定义序列化方案
+     * 3.Map，集合框架，数组
+     * 4.除框架以外的JSON类型
+     * 5.Number实现，返回无引号数值
+     * 6.字符串序列实现，加边界双引号
+     * 7.有可继承的自定义序列化方案
+     * 8.重写了toString()的JavaBean
+     * 9.没有重写toString的JavaBean，默认为贫血对象，通过反射构造出实例状态的JSON对象
+     *
+     * @param serializer 自定义序列化方案，可以为null
+     * @throws IOException 写入目标异常
+     */
+    @SuppressWarnings("unchecked")
+    public JSONWriter write(Object object, CustomSerializer serializer) throws IOException {
+        // 1
+        if (object == null) {
+            this.append(JSONValueNull.getInstance().toJSONString());
+            return this;
+        }
+        // 2
+        if (serializer != null && serializer.isExistClassSerializer(object))
+            return this.writeString(serializer.classSerializer(object).serialize(object));
+        // 3
+        if (object instanceof Map)
+            return this.writeMap((Map) object, serializer);
+        if (object instanceof Collection)
+            return this.writeCollection((Collection) object, serializer);
+        if (object.getClass().isArray())
+            return this.writeArray(object, serializer);
+        // 4
+        if (object instanceof JSONValueString)
+            return this.writeString(object.toString());
+        if (object instanceof JSON) {
+            this.append(((JSON) object).toJSONString());
+            return this;
+        }
+        // 5
+        if (object instanceof Number) {
+            this.append(object.toString());
+            return this;
+        }
+        // 6
+        if (object instanceof CharSequence)
+            return this.writeString((CharSequence) object);
+        // 7
+        if (serializer != null && serializer.hasCustomizer(object))
+            return this.writeString(serializer.serialize(object));
+        // 8
+        if (OWN_TO_STRING.get(object.getClass()))
+            return this.writeString(object.toString());
+        // 9
+        return this.writeBean(object);
+    }
+
+    /**
+     * 将贫血模型的实例字段作为JSON对象写入，包括父类字段
+     * static, transient 关键字修饰的字段将被过滤，字段值不使用自定义序列化方案
+     * 每个类的字段与访问句柄只解析一次，写入时不会构造中间Map
+     * 按字典序写入键时，先将字段转换为Map再排序写入
+     */
+    public JSONWriter writeBean(Object bean) throws IOException {
+        Assert.notNull(bean);
+        if (this.sortKeys)
+            return this.writeMap(BeanUtil.object2Map(bean, BEAN_FILTER), null);
+        BeanWriter.of(bean.getClass()).write(this, bean);
+        return this;
+    }
+
+    /**
+     * 写入JSON对象，键使用toString()的结果
+     */
+    public JSONWriter writeMap(Map<?, ?> map, CustomSerializer serializer) throws IOException {
+        if (this.sortKeys)
+            return this.writeSortedMap(map, serializer);
+
+        this.append(LBRACE);
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (first)
+                first = false;
+            else
+                this.append(COMMA);
+
+            this.writeString(entry.getKey().toString());
+            this.append(COLON);
+            this.write(entry.getValue(), serializer);
+        }
+        this.append(RBRACE);
+        return this;
+    }
+
+    private JSONWriter writeSortedMap(Map<?, ?> map, CustomSerializer serializer) throws IOException {
+        List<Map.Entry<?, ?>> entries = new ArrayList<>(map.entrySet());
+        entries.sort((a, b) -> a.getKey().toString().compareTo(b.getKey().toString()));
+
+        this.append(LBRACE);
+        for (int i = 0; i < entries.size(); i++) {
+            if (i > 0)
+                this.append(COMMA);
+
+            Map.Entry<?, ?> entry = entries.get(i);
+            this.writeString(entry.getKey().toString());
+            this.append(COLON);
+            this.write(entry.getValue(), serializer);
+        }
+        this.append(RBRACE);
+        return this;
+    }
+
+    /**
+     * 写入JSON数组，没有自定义序列化方案时，以基本类型数组保存的JSONArray直接由数组写入
+     */
+    public JSONWriter writeCollection(Collection<?> collection, CustomSerializer serializer) throws IOException {
+        if (serializer == null) {
+            Collection<?> inner = collection instanceof JSONArray ? ((JSONArray) collection).innerList() : collection;
+            if (inner instanceof PrimitiveArrayList && ((PrimitiveArrayList) inner).writeTo(this))
+                return this;
+        }
+
+        this.append(LBRACKET);
+        Iterator<?> iterator = collection.iterator();
+        if (iterator.hasNext()) {
+            this.write(iterator.next(), serializer);
+            while (iterator.hasNext()) {
+                this.append(COMMA);
+                this.write(iterator.next(), serializer);
+            }
+        }
+        this.append(RBRACKET);
+        return this;
+    }
+
+    /**
+     * 写入数组，支持基本类型数组
+     *
+     * @throws org.r2.devkit.IllegalDataException 参数不是数组
+     */
+    public JSONWriter writeArray(Object array, CustomSerializer serializer) throws IOException {
+        Assert.judge(() -> !array.getClass().isArray());
+        this.append(LBRACKET);
+        if (array instanceof Object[]) {
+            Object[] a = (Object[]) array;
+            for (int i = 0; i < a.length; i++) {
+                if (i > 0) this.append(COMMA);
+                this.write(a[i], serializer);
+            }
+        } else {
+            final int length = Array.getLength(array);
+            for (int i = 0; i < length; i++) {
+                if (i > 0) this.append(COMMA);
+                this.write(Array.get(array, i), serializer);
+            }
+        }
+        this.append(RBRACKET);
+        return this;
+    }
+
+    /**
+     * 写入一个字符串，根据JSON标准对字符串内的字符进行转义，并在边界加上双引号
+     * 两个转义字符之间的片段整体写入
+     */
+    public JSONWriter writeString(CharSequence str) throws IOException {
+        this.append(DOUBLE_QUOT);
+        final int len = str.length();
+        int run = 0;
+        for (int i = 0; i < len; i++) {
+            char symbol = escapeSymbol(str.charAt(i));
+            if (symbol != 0) {
+                if (i > run)
+                    this.append(str, run, i);
+                this.append(REVERSE_SOLIDUS);
+                this.append(symbol);
+                run = i + 1;
+            }
+        }
+        if (len > run)
+            this.append(str, run, len);
+        this.append(DOUBLE_QUOT);
+        return this;
+    }
+
+    /**
+     * 将缓冲区中的内容写入目标，目标可刷新时同时刷新目标
+     */
+    @Override
+    public void flush() throws IOException {
+        this.flushBuffer();
+        if (this.out instanceof Flushable)
+            ((Flushable) this.out).flush();
+    }
+
+    /**
+     * 刷新并关闭目标
+     */
+    @Override
+    public void close() throws IOException {
+        this.flushBuffer();
+        if (this.out instanceof Closeable)
+            ((Closeable) this.out).close();
+    }
+
+    /* 供BeanWriter写入预先转义的内容 */
+
+    void appendRaw(char c) throws IOException {
+        this.append(c);
+    }
+
+    void appendRaw(String str) throws IOException {
+        this.append(str);
+    }
+
+    private void append(char c) throws IOException {
+        if (this.buffer == null) {
+            ((StringBuilder) this.out).append(c);
+            return;
+        }
+        if (this.count == this.buffer.length)
+            this.flushBuffer();
+        this.buffer[this.count++] = c;
+    }
+
+    private void append(String str) throws IOException {
+        this.append(str, 0, str.length());
+    }
+
+    private void append(CharSequence str, int start, int end) throws IOException {
+        if (this.buffer == null) {
+            ((StringBuilder) this.out).append(str, start, end);
+            return;
+        }
+        while (start < end) {
+            if (this.count == this.buffer.length)
+                this.flushBuffer();
+            int n = Math.min(end - start, this.buffer.length - this.count);
+            if (str instanceof String) {
+                ((String) str).getChars(start, start + n, this.buffer, this.count);
+                this.count += n;
+                start += n;
+            } else {
+                for (int i = 0; i < n; i++)
+                    this.buffer[this.count++] = str.charAt(start++);
+            }
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (this.buffer == null || this.count == 0)
+            return;
+        if (this.out instanceof Writer)
+            ((Writer) this.out).write(this.buffer, 0, this.count);
+        else
+            this.out.append(CharBuffer.wrap(this.buffer, 0, this.count));
+        this.count = 0;
+    }
+}
@@ -0,0 +1,234 @@
+package org.r2.devkit.json;
+
+import org.r2.devkit.json.util.JSONStringParser;
+
+import java.io.Serializable;
+import java.util.*;
+
+import static org.r2.devkit.json.JSONToken.*;
+
+/**
+ * 延迟解析的JSONObject容器
+ * 构造时只解析键，并记录每个值在源字符串中的起始位置，值在首次读取时才会被解析
+ * 解析结果会替换原有的位置记录，之后的读取直接返回该结果
+ * 值为JSONObject时同样以延迟方式解析
+ *
+ * [语法校验]
+ * 构造时只完整校验本层对象的语法，值内部仅校验字符串边界与括号的嵌套层数
+ * 值内部的其他语法错误在首次读取该值时抛出{@link JSONException}
+ *
+ * [修改]
+ * put()、remove()与Entry#setValue()覆盖或移除尚未解析的值时不会解析该值，此时返回null
+ *
+ * [遍历]
+ * keySet()、size()、containsKey()等只涉及键的操作不会解析任何值
+ * 遍历entrySet()时，每个值在调用getValue()时解析
+ *
+ * Thread unsafe
+ *
+ * @author ruan4261
+ */
+final class LazyObjectMap extends AbstractMap<String, Object> implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private final String source;
+    // 值为解析结果，或尚未解析的Deferred，遍历顺序与完全解析的结果一致
+    private final Map<String, Object> container = new CompactObjectMap();
+    private transient Set<Map.Entry<String, Object>> entrySet;
+
+    private LazyObjectMap(String source) {
+        this.source = source;
+    }
+
+    /**
+     * 从解析器游标处索引一个JSONObject，游标处必须为JSONObject
+     * 结束后游标位于对象之后
+     *
+     * @param source 解析器正在解析的字符串
+     * @throws JSONException 解析失败
+     */
+    static JSONObject parse(String source, JSONStringParser parser) {
+        LazyObjectMap map = new LazyObjectMap(source);
+        parser.parseObject((key, p) -> {
+            p.peek();
+            int offset = p.getOffset();
+            p.skipValue();
+            map.container.put(key, new Deferred(offset));
+        });
+        return new JSONObject(map);
+    }
+
+    /**
+     * 未解析的值在源字符串中的起始位置
+     */
+    private static final class Deferred {
+        final int offset;
+
+        Deferred(int offset) {
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * 被覆盖或移除的旧值，尚未解析时不再解析
+     */
+    private static Object previous(Object value) {
+        return value instanceof Deferred ? null : value;
+    }
+
+    private Object materialize(Object value) {
+        if (!(value instanceof Deferred))
+            return value;
+
+        final String source = this.source;
+        return JSONStringParser.parse2Custom(source, ((Deferred) value).offset,
+                parser -> parser.peek() == LBRACE ? parse(source, parser) : parser.parseValue()).getObject();
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object value = this.container.get(key);
+        if (!(value instanceof Deferred))
+            return value;
+
+        value = this.materialize(value);
+        this.container.put((String) key, value);
+        return value;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return previous(this.container.put(key, value));
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        this.container.putAll(m);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return previous(this.container.remove(key));
+    }
+
+    @Override
+    public int size() {
+        return this.container.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.container.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.container.containsKey(key);
+    }
+
+    @Override
+    public void clear() {
+        this.container.clear();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return this.container.keySet();
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        Set<Map.Entry<String, Object>> entrySet = this.entrySet;
+        if (entrySet == null)
+            this.entrySet = entrySet = new EntrySet();
+        return entrySet;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            final Iterator<Map.Entry<String, Object>> iterator = container.entrySet().iterator();
+            return new Iterator<Map.Entry<String, Object>>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Map.Entry<String, Object> next() {
+                    return new LazyEntry(iterator.next());
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return container.size();
+        }
+
+        @Override
+        public void clear() {
+            container.clear();
+        }
+    }
+
+    /**
+     * 读取值时解析，并将结果写回容器
+     */
+    private final class LazyEntry implements Map.Entry<String, Object> {
+        private final Map.Entry<String, Object> entry;
+
+        LazyEntry(Map.Entry<String, Object> entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public String getKey() {
+            return this.entry.getKey();
+        }
+
+        @Override
+        public Object getValue() {
+            Object value = this.entry.getValue();
+            if (value instanceof Deferred) {
+                value = materialize(value);
+                this.entry.setValue(value);
+            }
+            return value;
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            return previous(this.entry.setValue(value));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return Objects.equals(this.getKey(), e.getKey()) && Objects.equals(this.getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.getKey()) ^ Objects.hashCode(this.getValue());
+        }
+
+        @Override
+        public String toString() {
+            return this.getKey() + "=" + this.getValue();
+        }
+    }
+
+    /**
+     * 序列化时解析所有值，以CompactObjectMap代替
+     */
+    private Object writeReplace() {
+        return new CompactObjectMap(this);
+    }
+}
@@ -0,0 +1,380 @@
+package org.r2.devkit.json;
+
+import org.r2.devkit.Assert;
+import org.r2.devkit.json.util.Holder;
+import org.r2.devkit.json.util.JSONParseCheck;
+import org.r2.devkit.json.util.JSONStringParser;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.r2.devkit.json.JSONToken.*;
+
+/**
+ * NDJSON（JSON Lines）读取器，每行一个JSON值，依次解析为JSON对象
+ *
+ * [读取]
+ * 所有记录共用一个定长的字符缓冲区，逐个字符查找换行符拆分记录，不使用正则表达式
+ * 支持\n与\r\n两种换行符，只含JSON语法可忽略字符的空行会被跳过
+ * 每行的语法与{@link JSON#parse(String)}一致
+ *
+ * [并行]
+ * 通过{@link #setParallel(ForkJoinPool, int)}开启后，每次读取一批行交由线程池解析
+ * 调用方消费当前批次时，下一批次已在线程池中解析，返回顺序与文件中的顺序一致
+ *
+ * [异常]
+ * 某行无法解析时，在读取到该行时抛出JSONException，异常信息中包含行号
+ * 输入流的IOException以UncheckedIOException抛出
+ *
+ * 示例：
+ * try (NDJSONReader reader = new NDJSONReader(path)) {
+ * while (reader.hasNext()) {
+ * JSON json = reader.next();
+ * }
+ * }
+ *
+ * Thread unsafe
+ *
+ * @author ruan4261
+ */
+public final class NDJSONReader implements Iterator<JSON>, Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final int MIN_BUFFER_SIZE = 16;
+    // 每批行数被拆分为并行度的此倍数的块，用于平衡不同行的解析耗时
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final Reader in;
+    private final char[] buffer;
+    private int pos;
+    private int limit;
+    // 跨越缓冲区边界的行
+    private final StringBuilder line = new StringBuilder();
+    // 已读取的行数，即最近一行的行号
+    private long lineNumber;
+
+    // 已解析但还未返回的值
+    private JSON next;
+
+    // 并行模式，pool为null时顺序解析
+    private ForkJoinPool pool;
+    private int batchSize;
+    private Batch batch;
+    private int batchPos;
+    // 已提交至线程池的下一批次
+    private Batch pending;
+
+    public NDJSONReader(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param bufferSize 缓冲区大小，读取过程中不会扩容，超过该长度的行会拼接读取
+     */
+    public NDJSONReader(Reader reader, int bufferSize) {
+        Assert.notNull(reader, "reader");
+        this.in = reader;
+        this.buffer = new char[Math.max(bufferSize, MIN_BUFFER_SIZE)];
+    }
+
+    /**
+     * 以UTF-8字符集读取字节流
+     */
+    public NDJSONReader(InputStream in) {
+        this(in, StandardCharsets.UTF_8);
+    }
+
+    public NDJSONReader(InputStream in, Charset charset) {
+        this(new InputStreamReader(in, charset == null ? StandardCharsets.UTF_8 : charset));
+    }
+
+    /**
+     * 以UTF-8字符集读取文件
+     */
+    public NDJSONReader(Path path) throws IOException {
+        this(Files.newInputStream(path));
+    }
+
+    /**
+     * 开启并行解析，须在读取第一条记录之前调用
+     *
+     * @param pool      执行解析的线程池
+     * @param batchSize 每批读取的行数
+     * @throws IllegalStateException 已经开始读取
+     */
+    public NDJSONReader setParallel(ForkJoinPool pool, int batchSize) {
+        Assert.notNull(pool, "pool");
+        if (batchSize <= 0)
+            throw new IllegalArgumentException("Illegal batch size: " + batchSize);
+        if (this.lineNumber > 0 || this.next != null)
+            throw new IllegalStateException("NDJSONReader has already started reading.");
+
+        this.pool = pool;
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * 最近读取的一行的行号，从1开始
+     * 并行模式下会提前读取，因此可能大于最近返回的记录所在的行号
+     */
+    public long lineNumber() {
+        return this.lineNumber;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.next != null)
+            return true;
+        try {
+            this.next = this.pool == null ? this.readValue() : this.nextOfBatch();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this.next != null;
+    }
+
+    /**
+     * @throws JSONException 该行无法解析
+     */
+    @Override
+    public JSON next() {
+        if (!this.hasNext())
+            throw new NoSuchElementException();
+        JSON next = this.next;
+        this.next = null;
+        return next;
+    }
+
+    /**
+     * 以顺序流的形式返回剩余的记录，关闭流时关闭本读取器
+     */
+    public Stream<JSON> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        this.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.pending != null) {
+            this.pending.cancel(false);
+            this.pending = null;
+        }
+        this.in.close();
+    }
+
+    /* 顺序解析 */
+
+    private JSON readValue() throws IOException {
+        String line;
+        while ((line = this.readLine()) != null) {
+            if (!isBlank(line))
+                return parseLine(line, this.lineNumber);
+        }
+        return null;
+    }
+
+    private static JSON parseLine(String line, long lineNumber) {
+        try {
+            Holder<? extends JSON> holder = JSONStringParser.parse2JSON(line, 0);
+            JSONParseCheck.ignore(line, holder.getOffset(), "String cannot parse to JSON : " + line);
+            return holder.getObject();
+        } catch (JSONException e) {
+            throw new JSONException("NDJSON line " + lineNumber + " cannot parse : " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean isBlank(String line) {
+        for (int i = 0, len = line.length(); i < len; i++) {
+            if (!isIgnorable(line.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * 读取一行，不包括换行符，输入结束时返回null
+     * 整行都在缓冲区中时直接由缓冲区构造字符串
+     */
+    private String readLine() throws IOException {
+        final StringBuilder line = this.line;
+        line.setLength(0);
+        for (; ; ) {
+            if (this.pos == this.limit && !this.fill()) {
+                if (line.length() == 0)
+                    return null;
+                this.lineNumber++;
+                return trimCarriageReturn(line.toString());
+            }
+
+            final char[] buffer = this.buffer;
+            final int start = this.pos;
+            final int limit = this.limit;
+            int i = start;
+            while (i < limit && buffer[i] != '\n')
+                i++;
+
+            if (i < limit) {
+                this.pos = i + 1;
+                this.lineNumber++;
+                int end = i > start && buffer[i - 1] == '\r' ? i - 1 : i;
+                if (line.length() == 0)
+                    return new String(buffer, start, end - start);
+                return trimCarriageReturn(line.append(buffer, start, i - start).toString());
+            }
+
+            line.append(buffer, start, limit - start);
+            this.pos = limit;
+        }
+    }
+
+    private static String trimCarriageReturn(String line) {
+        final int len = line.length();
+        return len > 0 && line.charAt(len - 1) == '\r' ? line.substring(0, len - 1) : line;
+    }
+
+    private boolean fill() throws IOException {
+        int n;
+        do {
+            n = this.in.read(this.buffer, 0, this.buffer.length);
+        } while (n == 0);
+        if (n < 0)
+            return false;
+        this.pos = 0;
+        this.limit = n;
+        return true;
+    }
+
+    /* 并行解析 */
+
+    private JSON nextOfBatch() throws IOException {
+        for (; ; ) {
+            final Batch batch = this.batch;
+            if (batch != null && this.batchPos < batch.count) {
+                final int i = this.batchPos++;
+                if (i == batch.errorIndex)
+                    throw batch.error;
+                return batch.values[i];
+            }
+
+            if (this.pending == null)
+                this.pending = this.submitBatch();
+            if (this.pending == null)
+                return null;
+
+            // 先提交下一批次，再等待当前批次
+            final Batch current = this.pending;
+            this.pending = this.submitBatch();
+            current.join();
+            this.batch = current;
+            this.batchPos = 0;
+        }
+    }
+
+    private Batch submitBatch() throws IOException {
+        final String[] lines = new String[this.batchSize];
+        final long[] numbers = new long[this.batchSize];
+        int count = 0;
+        String line;
+        while (count < this.batchSize && (line = this.readLine()) != null) {
+            if (!isBlank(line)) {
+                lines[count] = line;
+                numbers[count] = this.lineNumber;
+                count++;
+            }
+        }
+        if (count == 0)
+            return null;
+
+        Batch batch = new Batch(lines, numbers, count, Math.max(1, Math.min(count, this.pool.getParallelism() * CHUNKS_PER_THREAD)));
+        this.pool.execute(batch);
+        return batch;
+    }
+
+    /**
+     * 一批行的解析任务，解析失败时记录第一个失败的位置，不抛出异常
+     */
+    private static final class Batch extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final String[] lines;
+        final long[] numbers;
+        final int count;
+        final JSON[] values;
+        final int chunks;
+        int errorIndex = -1;
+        JSONException error;
+
+        Batch(String[] lines, long[] numbers, int count, int chunks) {
+            this.lines = lines;
+            this.numbers = numbers;
+            this.count = count;
+            this.values = new JSON[count];
+            this.chunks = chunks;
+        }
+
+        @Override
+        protected void compute() {
+            final Chunk[] tasks = new Chunk[this.chunks];
+            for (int i = 0; i < this.chunks; i++)
+                tasks[i] = new Chunk(this, (int) ((long) this.count * i / this.chunks), (int) ((long) this.count * (i + 1) / this.chunks));
+            ForkJoinTask.invokeAll(tasks);
+
+            for (Chunk task : tasks) {
+                if (task.errorIndex >= 0) {
+                    this.errorIndex = task.errorIndex;
+                    this.error = task.error;
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Batch batch;
+        private final int from;
+        private final int to;
+        int errorIndex = -1;
+        JSONException error;
+
+        Chunk(Batch batch, int from, int to) {
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            final Batch batch = this.batch;
+            for (int i = this.from; i < this.to; i++) {
+                try {
+                    batch.values[i] = parseLine(batch.lines[i], batch.numbers[i]);
+                } catch (JSONException e) {
+                    this.errorIndex = i;
+                    this.error = e;
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.r2.devkit.json;
+
+import org.r2.devkit.Assert;
+import org.r2.devkit.serialize.CustomSerializer;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.r2.devkit.json.JSONToken.*;
+
+/**
+ * NDJSON（JSON Lines）写入器，每个对象序列化为一行，以\n结尾
+ * 序列化规则与{@link JSONWriter#write(Object, CustomSerializer)}一致，所有记录共用同一个JSONWriter与缓冲区
+ * JSON字符串中的换行符总是被转义，因此每条记录恰好占用一行
+ *
+ * 写入完毕后需调用{@link #flush()}或{@link #close()}，否则缓冲区中的内容不会到达目标
+ *
+ * Thread unsafe
+ *
+ * @author ruan4261
+ */
+public final class NDJSONWriter implements Flushable, Closeable {
+
+    private final JSONWriter writer;
+    // 默认的自定义序列化方案，可以为null
+    private CustomSerializer customSerializer;
+
+    public NDJSONWriter(Appendable out) {
+        this.writer = new JSONWriter(out);
+    }
+
+    /**
+     * 以UTF-8编码写入字节流
+     */
+    public NDJSONWriter(OutputStream out) {
+        this.writer = new JSONWriter(out);
+    }
+
+    /**
+     * 以UTF-8编码写入文件，文件已存在时将被覆盖
+     */
+    public NDJSONWriter(Path path) throws IOException {
+        this(Files.newOutputStream(path));
+    }
+
+    public CustomSerializer getCustomSerializer() {
+        return this.customSerializer;
+    }
+
+    /**
+     * 设置{@link #write(Object)}使用的自定义序列化方案
+     */
+    public NDJSONWriter setCustomSerializer(CustomSerializer customSerializer) {
+        this.customSerializer = customSerializer;
+        return this;
+    }
+
+    /**
+     * 写入一条记录
+     *
+     * @throws IOException 写入目标异常
+     */
+    public NDJSONWriter write(Object object) throws IOException {
+        return this.write(object, this.customSerializer);
+    }
+
+    /**
+     * 以参数序列化方案写入一条记录
+     *
+     * @throws IOException 写入目标异常
+     */
+    public NDJSONWriter write(Object object, CustomSerializer serializer) throws IOException {
+        this.writer.write(object, serializer);
+        this.writer.appendRaw(LINE_FEED);
+        return this;
+    }
+
+    /**
+     * 依次写入每个元素作为一条记录
+     *
+     * @throws IOException 写入目标异常
+     */
+    public NDJSONWriter writeAll(Iterable<?> objects) throws IOException {
+        Assert.notNull(objects, "objects");
+        for (Object object : objects)
+            this.write(object);
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.writer.close();
+    }
+}
@@ -0,0 +1,293 @@
+package org.r2.devkit.json;
+
+import org.r2.devkit.json.field.JSONValueNumber;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import static org.r2.devkit.json.JSONToken.*;
+
+/**
+ * 以基本类型数组保存数值元素的JSONArray容器
+ *
+ * [存储]
+ * 第一个元素决定存储方式：整数以long[]保存，小数以double[]保存，元素本身不会被保留
+ * 读取时按需构造JSONValueNumber，序列化时直接由基本类型数组输出
+ *
+ * [转换]
+ * long[]中加入小数时，如果已有的整数都能被double精确表示，则整体转换为double[]，之后整数元素将以小数形式输出（如1.0）
+ * 无法以当前方式保存的元素（非数值、有效数字超过18位的数值、NaN等）加入时，所有元素转换为普通的ArrayList保存，此后不再转换回来
+ *
+ * [精度]
+ * 小数以double保存，精度与{@link JSONValueNumber#doubleValue()}一致，输出形式与{@link Double#toString(double)}一致
+ *
+ * Thread unsafe
+ *
+ * @author ruan4261
+ */
+final class PrimitiveArrayList extends AbstractList<Object> implements RandomAccess, Serializable {
+    private static final long serialVersionUID = 1L;
+    // double可精确表示的最大整数
+    private static final long MAX_EXACT_DOUBLE_INTEGER = 1L << 53;
+
+    private static final int OTHER = 0;
+    private static final int LONG = 1;
+    private static final int DOUBLE = 2;
+
+    private final int initialCapacity;
+    // 以下三者至多一个不为null，全为null时尚未决定存储方式
+    private long[] longs;
+    private double[] doubles;
+    private ArrayList<Object> boxed;
+    private int size;
+
+    PrimitiveArrayList(int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        this.initialCapacity = Math.max(initialCapacity, 2);
+    }
+
+    PrimitiveArrayList(long[] values) {
+        this(values.length);
+        this.longs = Arrays.copyOf(values, this.initialCapacity);
+        this.size = values.length;
+    }
+
+    PrimitiveArrayList(double[] values) {
+        this(values.length);
+        for (double value : values) {
+            if (Double.isNaN(value) || Double.isInfinite(value))
+                throw new JSONException("Number cannot be NaN or Infinity : " + value);
+        }
+        this.doubles = Arrays.copyOf(values, this.initialCapacity);
+        this.size = values.length;
+    }
+
+    PrimitiveArrayList copy() {
+        PrimitiveArrayList copy = new PrimitiveArrayList(this.size);
+        if (this.longs != null)
+            copy.longs = Arrays.copyOf(this.longs, copy.initialCapacity);
+        else if (this.doubles != null)
+            copy.doubles = Arrays.copyOf(this.doubles, copy.initialCapacity);
+        else if (this.boxed != null)
+            copy.boxed = new ArrayList<>(this.boxed);
+        copy.size = this.size;
+        return copy;
+    }
+
+    private static int kind(Object element) {
+        if (element instanceof JSONValueNumber) {
+            JSONValueNumber number = (JSONValueNumber) element;
+            if (number.isLong())
+                return LONG;
+            return number.isCompact() ? DOUBLE : OTHER;
+        }
+        if (element instanceof Long || element instanceof Integer || element instanceof Short || element instanceof Byte)
+            return LONG;
+        if (element instanceof Double || element instanceof Float) {
+            double value = ((Number) element).doubleValue();
+            return Double.isNaN(value) || Double.isInfinite(value) ? OTHER : DOUBLE;
+        }
+        return OTHER;
+    }
+
+    private static long longOf(Object element) {
+        return element instanceof JSONValueNumber ? ((JSONValueNumber) element).longValue() : ((Number) element).longValue();
+    }
+
+    private static double doubleOf(Object element) {
+        return element instanceof JSONValueNumber ? ((JSONValueNumber) element).doubleValue() : ((Number) element).doubleValue();
+    }
+
+    private static boolean exactDouble(long value) {
+        return value >= -MAX_EXACT_DOUBLE_INTEGER && value <= MAX_EXACT_DOUBLE_INTEGER;
+    }
+
+    /**
+     * 确保当前存储方式可以保存参数元素，必要时转换存储方式
+     *
+     * @return 转换后的存储方式，OTHER表示以ArrayList保存
+     */
+    private int accept(Object element) {
+        if (this.boxed != null)
+            return OTHER;
+
+        final int kind = kind(element);
+        if (this.longs != null) {
+            if (kind == LONG)
+                return LONG;
+            if (kind == DOUBLE && this.toDoubles())
+                return DOUBLE;
+        } else if (this.doubles != null) {
+            if (kind == DOUBLE || (kind == LONG && exactDouble(longOf(element))))
+                return DOUBLE;
+        } else {
+            // 尚未决定存储方式
+            if (kind == LONG) {
+                this.longs = new long[this.initialCapacity];
+                return LONG;
+            }
+            if (kind == DOUBLE) {
+                this.doubles = new double[this.initialCapacity];
+                return DOUBLE;
+            }
+        }
+        this.toBoxed();
+        return OTHER;
+    }
+
+    /**
+     * 所有整数都能被double精确表示时转换为double[]
+     */
+    private boolean toDoubles() {
+        final long[] longs = this.longs;
+        for (int i = 0; i < this.size; i++) {
+            if (!exactDouble(longs[i]))
+                return false;
+        }
+        double[] doubles = new double[longs.length];
+        for (int i = 0; i < this.size; i++)
+            doubles[i] = longs[i];
+        this.doubles = doubles;
+        this.longs = null;
+        return true;
+    }
+
+    private void toBoxed() {
+        ArrayList<Object> boxed = new ArrayList<>(Math.max(this.size << 1, this.initialCapacity));
+        for (int i = 0; i < this.size; i++)
+            boxed.add(this.get(i));
+        this.boxed = boxed;
+        this.longs = null;
+        this.doubles = null;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (this.longs != null && this.longs.length < capacity)
+            this.longs = Arrays.copyOf(this.longs, Math.max(capacity, this.longs.length << 1));
+        else if (this.doubles != null && this.doubles.length < capacity)
+            this.doubles = Arrays.copyOf(this.doubles, Math.max(capacity, this.doubles.length << 1));
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+    }
+
+    @Override
+    public Object get(int index) {
+        if (this.boxed != null)
+            return this.boxed.get(index);
+
+        this.checkIndex(index);
+        if (this.longs != null)
+            return new JSONValueNumber(this.longs[index], 0);
+        String text = Double.toString(this.doubles[index]);
+        return JSONValueNumber.valueOf(text, 0, text.length());
+    }
+
+    @Override
+    public Object set(int index, Object element) {
+        if (this.boxed == null)
+            this.checkIndex(index);
+
+        final Object old = this.get(index);
+        switch (this.accept(element)) {
+            case LONG:
+                this.longs[index] = longOf(element);
+                break;
+            case DOUBLE:
+                this.doubles[index] = doubleOf(element);
+                break;
+            default:
+                this.boxed.set(index, element);
+        }
+        return old;
+    }
+
+    @Override
+    public void add(int index, Object element) {
+        if (index < 0 || index > this.size())
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size());
+
+        final int kind = this.accept(element);
+        this.modCount++;
+        if (kind == OTHER) {
+            this.boxed.add(index, element);
+            return;
+        }
+
+        this.ensureCapacity(this.size + 1);
+        final int moved = this.size - index;
+        if (kind == LONG) {
+            if (moved > 0)
+                System.arraycopy(this.longs, index, this.longs, index + 1, moved);
+            this.longs[index] = longOf(element);
+        } else {
+            if (moved > 0)
+                System.arraycopy(this.doubles, index, this.doubles, index + 1, moved);
+            this.doubles[index] = doubleOf(element);
+        }
+        this.size++;
+    }
+
+    @Override
+    public Object remove(int index) {
+        if (this.boxed != null) {
+            this.modCount++;
+            return this.boxed.remove(index);
+        }
+
+        final Object old = this.get(index);
+        final int moved = this.size - index - 1;
+        if (moved > 0) {
+            if (this.longs != null)
+                System.arraycopy(this.longs, index + 1, this.longs, index, moved);
+            else
+                System.arraycopy(this.doubles, index + 1, this.doubles, index, moved);
+        }
+        this.size--;
+        this.modCount++;
+        return old;
+    }
+
+    /**
+     * 清空后重新由第一个元素决定存储方式
+     */
+    @Override
+    public void clear() {
+        this.longs = null;
+        this.doubles = null;
+        this.boxed = null;
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @Override
+    public int size() {
+        return this.boxed != null ? this.boxed.size() : this.size;
+    }
+
+    /**
+     * 由基本类型数组直接写入JSON数组
+     *
+     * @return 已转换为ArrayList保存时不写入，返回false
+     */
+    boolean writeTo(JSONWriter writer) throws IOException {
+        if (this.boxed != null)
+            return false;
+
+        writer.appendRaw(LBRACKET);
+        for (int i = 0; i < this.size; i++) {
+            if (i > 0)
+                writer.appendRaw(COMMA);
+            writer.appendRaw(this.longs != null ? Long.toString(this.longs[i]) : Double.toString(this.doubles[i]));
+        }
+        writer.appendRaw(RBRACKET);
+        return true;
+    }
+}
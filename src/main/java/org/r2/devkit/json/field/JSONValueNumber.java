@@ -4,6 +4,7 @@ import org.r2.devkit.json.JSON;
 import org.r2.devkit.json.JSONException;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 /**
@@ -14,12 +15,37 @@ import java.util.Objects;
  * 正确示例：
  * 100 / 123.456 / -789 / 9.99e+7 / 1.8e-8 / 3e3
  *
+ * [存储]
+ * 有效数字不超过18位的数值以 unscaled * 10^-scale 的形式保存在两个基本类型字段中
+ * 这与BigDecimal内部的表示方式一致，只有调用{@link #getContainer()}时才会构造BigDecimal
+ * {@link #longValue()}、{@link #intValue()}、{@link #doubleValue()}在常见情况下不会创建任何对象
+ *
  * @author ruan4261
  */
 public final class JSONValueNumber extends JSON {
     private static final long serialVersionUID = 1L;
+    // 紧凑形式可容纳的最大有效数字位数
+    private static final int MAX_COMPACT_DIGITS = 18;
+    private static final long[] LONG_TEN_POWERS = {
+            1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L,
+            10000000000L, 100000000000L, 1000000000000L, 10000000000000L, 100000000000000L,
+            1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L
+    };
+    // double可精确表示的10的幂
+    private static final double[] DOUBLE_TEN_POWERS = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    // double可精确表示的最大整数
+    private static final long MAX_EXACT_DOUBLE_INTEGER = 1L << 53;
+
     private BigDecimal container;
 
+    // 紧凑形式，compact为true时有效
+    private boolean compact;
+    private long unscaled;
+    private int scale;
+
     public JSONValueNumber() {
     }
 
@@ -35,17 +61,224 @@ public final class JSONValueNumber extends JSON {
         }
     }
 
+    /**
+     * 以紧凑形式构造，数值为 unscaled * 10^-scale
+     */
+    public JSONValueNumber(long unscaled, int scale) {
+        this.compact = true;
+        this.unscaled = unscaled;
+        this.scale = scale;
+    }
+
+    /**
+     * 由数值文本构造，文本的语法应已由解析器校验
+     * 有效数字超过18位等无法以紧凑形式保存的数值将直接构造BigDecimal
+     *
+     * @throws JSONException 文本无法解析为数值
+     */
+    public static JSONValueNumber valueOf(CharSequence text, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && text.charAt(i) == '-') {
+            negative = true;
+            i++;
+        }
+
+        long unscaled = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean any = false;
+        boolean point = false;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                any = true;
+                if ((unscaled != 0 || c != '0') && ++digits > MAX_COMPACT_DIGITS)
+                    return inflated(text, start, end);
+                unscaled = unscaled * 10 + (c - '0');
+                if (point) scale++;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else break;
+        }
+        if (!any)
+            return inflated(text, start, end);
+
+        if (i < end && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+            i++;
+            boolean expNegative = false;
+            if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+'))
+                expNegative = text.charAt(i++) == '-';
+
+            int exp = 0;
+            int expDigits = 0;
+            for (; i < end; i++) {
+                char c = text.charAt(i);
+                if (c < '0' || c > '9' || ++expDigits > 9)
+                    return inflated(text, start, end);
+                exp = exp * 10 + (c - '0');
+            }
+            if (expDigits == 0)
+                return inflated(text, start, end);
+            scale = expNegative ? scale + exp : scale - exp;
+        }
+
+        if (i != end)
+            return inflated(text, start, end);
+        return new JSONValueNumber(negative ? -unscaled : unscaled, scale);
+    }
+
+    /**
+     * 由UTF-8字节形式的数值文本构造
+     *
+     * @see #valueOf(CharSequence, int, int)
+     */
+    public static JSONValueNumber valueOf(ByteBuffer text, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && text.get(i) == '-') {
+            negative = true;
+            i++;
+        }
+
+        long unscaled = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean any = false;
+        boolean point = false;
+        for (; i < end; i++) {
+            byte c = text.get(i);
+            if (c >= '0' && c <= '9') {
+                any = true;
+                if ((unscaled != 0 || c != '0') && ++digits > MAX_COMPACT_DIGITS)
+                    return inflated(text, start, end);
+                unscaled = unscaled * 10 + (c - '0');
+                if (point) scale++;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else break;
+        }
+        if (!any)
+            return inflated(text, start, end);
+
+        if (i < end && (text.get(i) == 'e' || text.get(i) == 'E')) {
+            i++;
+            boolean expNegative = false;
+            if (i < end && (text.get(i) == '-' || text.get(i) == '+'))
+                expNegative = text.get(i++) == '-';
+
+            int exp = 0;
+            int expDigits = 0;
+            for (; i < end; i++) {
+                byte c = text.get(i);
+                if (c < '0' || c > '9' || ++expDigits > 9)
+                    return inflated(text, start, end);
+                exp = exp * 10 + (c - '0');
+            }
+            if (expDigits == 0)
+                return inflated(text, start, end);
+            scale = expNegative ? scale + exp : scale - exp;
+        }
+
+        if (i != end)
+            return inflated(text, start, end);
+        return new JSONValueNumber(negative ? -unscaled : unscaled, scale);
+    }
+
+    private static JSONValueNumber inflated(CharSequence text, int start, int end) {
+        return new JSONValueNumber(text.subSequence(start, end).toString());
+    }
+
+    private static JSONValueNumber inflated(ByteBuffer text, int start, int end) {
+        char[] chars = new char[end - start];
+        for (int i = start; i < end; i++)
+            chars[i - start] = (char) text.get(i);
+        return new JSONValueNumber(new String(chars));
+    }
+
+    /**
+     * 获取BigDecimal形式的数值，紧凑形式的数值将在首次调用时构造
+     */
     public BigDecimal getContainer() {
+        BigDecimal container = this.container;
+        if (container == null && this.compact) {
+            container = BigDecimal.valueOf(this.unscaled, this.scale);
+            this.container = container;
+        }
         return container;
     }
 
     public void setContainer(BigDecimal container) {
         this.container = container;
+        this.compact = false;
+    }
+
+    /**
+     * 是否以紧凑形式保存，即有效数字不超过18位
+     */
+    public boolean isCompact() {
+        return this.compact;
+    }
+
+    /**
+     * 是否为以紧凑形式保存且没有小数部分的整数，此时{@link #longValue()}的结果是精确的
+     */
+    public boolean isLong() {
+        return this.compact && this.scale == 0;
+    }
+
+    /**
+     * 截断小数部分，与{@link BigDecimal#longValue()}语义一致
+     */
+    public long longValue() {
+        if (this.compact) {
+            final long unscaled = this.unscaled;
+            final int scale = this.scale;
+            if (scale == 0)
+                return unscaled;
+            if (scale > 0)
+                return scale <= MAX_COMPACT_DIGITS ? unscaled / LONG_TEN_POWERS[scale] : 0L;
+            if (-scale <= MAX_COMPACT_DIGITS) {
+                long power = LONG_TEN_POWERS[-scale];
+                if (Math.abs(unscaled) <= Long.MAX_VALUE / power)
+                    return unscaled * power;
+            }
+        }
+        return this.getContainer().longValue();
+    }
+
+    /**
+     * 截断小数部分，与{@link BigDecimal#intValue()}语义一致
+     */
+    public int intValue() {
+        return (int) this.longValue();
+    }
+
+    /**
+     * 与{@link BigDecimal#doubleValue()}语义一致
+     * 有效数字与指数都在double可精确表示的范围内时，一次乘除即可得到正确舍入的结果
+     */
+    public double doubleValue() {
+        if (this.compact) {
+            final long unscaled = this.unscaled;
+            final int scale = this.scale;
+            if (Math.abs(unscaled) <= MAX_EXACT_DOUBLE_INTEGER) {
+                if (scale == 0)
+                    return (double) unscaled;
+                if (scale > 0 && scale < DOUBLE_TEN_POWERS.length)
+                    return (double) unscaled / DOUBLE_TEN_POWERS[scale];
+                if (scale < 0 && -scale < DOUBLE_TEN_POWERS.length)
+                    return (double) unscaled * DOUBLE_TEN_POWERS[-scale];
+            }
+        }
+        return this.getContainer().doubleValue();
     }
 
     @Override
     public String toJSONString() {
-        return this.container.toString();
+        if (this.compact && this.scale == 0)
+            return Long.toString(this.unscaled);
+        return this.getContainer().toString();
     }
 
     @Override
@@ -58,16 +291,20 @@ public final class JSONValueNumber extends JSON {
         if (this == object) return true;
         if (object == null || getClass() != object.getClass()) return false;
         JSONValueNumber number = (JSONValueNumber) object;
-        return Objects.equals(container, number.container);
+        if (this.compact && number.compact)
+            return this.unscaled == number.unscaled && this.scale == number.scale;
+        return Objects.equals(this.getContainer(), number.getContainer());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(container);
+        return Objects.hash(this.getContainer());
     }
 
     @Override
     public Object clone() {
+        if (this.compact)
+            return new JSONValueNumber(this.unscaled, this.scale);
         return new JSONValueNumber(this.container);
     }
-}
\ No newline at end of file
+}
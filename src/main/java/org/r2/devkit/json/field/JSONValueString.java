@@ -2,8 +2,12 @@ package org.r2.devkit.json.field;
 
 import org.r2.devkit.json.JSON;
 import org.r2.devkit.json.serialize.JSONSerializer;
+import org.r2.devkit.json.util.JSONByteParser;
 import org.r2.devkit.Assert;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 /**
@@ -11,18 +15,34 @@ import java.util.Objects;
  * JSONString表现为
  * "container"
  *
+ * 由字节解析器生成的实例持有UTF-8字节片段，首次读取内容时才会解码，详见{@link JSONByteParser}
+ *
  * @author ruan4261
  */
 public final class JSONValueString extends JSON implements CharSequence {
     private static final long serialVersionUID = 1L;
-    private String container;
+    private volatile String container;
+
+    // 延迟解码的UTF-8字节片段，解码完成后释放
+    private transient volatile ByteBuffer source;
+    private transient int sourceOffset;
+    private transient int sourceLength;
+    private transient boolean sourceEscaped;
 
     public String getContainer() {
+        ByteBuffer source = this.source;
+        if (source == null)
+            return this.container;
+
+        String container = JSONByteParser.decodeString(source, this.sourceOffset, this.sourceLength, this.sourceEscaped);
+        this.container = container;
+        this.source = null;
         return container;
     }
 
     public JSONValueString setContainer(String container) {
         this.container = container;
+        this.source = null;
         return this;
     }
 
@@ -33,14 +53,31 @@ public final class JSONValueString extends JSON implements CharSequence {
         this.container = container;
     }
 
+    /**
+     * 以UTF-8字节片段构造，内容将在首次读取时解码
+     * 片段必须是已经校验过转义符的字符串内容（不含引号）
+     *
+     * @param source  字节来源，使用绝对下标读取
+     * @param offset  片段起点
+     * @param length  片段字节长度
+     * @param escaped 片段内是否含有反斜杠转义
+     */
+    public JSONValueString(ByteBuffer source, int offset, int length, boolean escaped) {
+        Assert.notNull(source);
+        this.sourceOffset = offset;
+        this.sourceLength = length;
+        this.sourceEscaped = escaped;
+        this.source = source;
+    }
+
     @Override
     public String toString() {
-        return this.container;
+        return this.getContainer();
     }
 
     @Override
     public String toJSONString() {
-        return JSONSerializer.escapeAndQuot(this.container);
+        return JSONSerializer.escapeAndQuot(this.getContainer());
     }
 
     @Override
@@ -48,34 +85,45 @@ public final class JSONValueString extends JSON implements CharSequence {
         if (this == object) return true;
         if (object == null || getClass() != object.getClass()) return false;
         JSONValueString that = (JSONValueString) object;
-        return Objects.equals(container, that.container);
+        return Objects.equals(this.getContainer(), that.getContainer());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(container);
+        return Objects.hash(this.getContainer());
     }
 
     @Override
     public Object clone() {
-        return new JSONValueString(this.container);
+        return new JSONValueString(this.getContainer());
     }
 
     @Override
     public int length() {
+        String container = this.getContainer();
         if (container == null) return 0;
-        return this.container.length();
+        return container.length();
     }
 
     @Override
     public char charAt(int index) {
-        Assert.notNull(this.container);
-        return this.container.charAt(index);
+        String container = this.getContainer();
+        Assert.notNull(container);
+        return container.charAt(index);
     }
 
     @Override
     public CharSequence subSequence(int start, int end) {
-        Assert.notNull(this.container);
-        return this.container.subSequence(start, end);
+        String container = this.getContainer();
+        Assert.notNull(container);
+        return container.subSequence(start, end);
+    }
+
+    /**
+     * 序列化前完成解码
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        this.getContainer();
+        out.defaultWriteObject();
     }
 }
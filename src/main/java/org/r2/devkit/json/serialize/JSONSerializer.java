@@ -1,14 +1,10 @@
 package org.r2.devkit.json.serialize;
 
-import org.r2.devkit.CharLinkedSequence;
-import org.r2.devkit.json.JSON;
-import org.r2.devkit.json.JSONObject;
+import org.r2.devkit.json.JSONException;
+import org.r2.devkit.json.JSONWriter;
 import org.r2.devkit.serialize.CustomSerializer;
-import org.r2.devkit.json.field.JSONValueNull;
-import org.r2.devkit.Assert;
-import org.r2.devkit.bean.BeanUtil;
 
-import java.util.Arrays;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Map;
 
@@ -16,6 +12,7 @@ import static org.r2.devkit.json.JSONToken.*;
 
 /**
  * JSON序列化器
+ * 各方法基于{@link JSONWriter}实现，嵌套结构直接写入同一个字符串缓冲
  *
  * @author ruan4261
  */
@@ -36,39 +33,34 @@ public final class JSONSerializer {
      * 7.有可继承的自定义序列化方案
      * 8.重写了toString()的JavaBean
      * 9.没有重写toString的JavaBean，默认为贫血对象，通过反射构造出实例状态的JSON对象
+     *
+     * @see JSONWriter#write(Object, CustomSerializer)
      */
-    @SuppressWarnings("unchecked")
     public static <T> String serializer(Object object, CustomSerializer serializer) {
-        // 1
-        if (object == null)
-            return JSONValueNull.getInstance().toString();
-        // 2
-        if (serializer != null && serializer.isExistClassSerializer(object))
-            return escapeAndQuot(serializer.classSerializer(object).serialize(object));
-        // 3
-        if (object instanceof Map)
-            return map2JSONString((Map) object, serializer);
-        if (object instanceof Collection)
-            return collection2JSONString((Collection) object, serializer);
-        if (object.getClass().isArray())
-            return array2JSONString(object, serializer);
-        // 4
-        if (object instanceof JSON)
-            return ((JSON) object).toJSONString();
-        // 5
-        if (object instanceof Number)
-            return object.toString();
-        // 6
-        if (object instanceof CharSequence)
-            return escapeAndQuot(object.toString());
-        // 7
-        if (serializer != null && serializer.hasCustomizer(object))
-            return escapeAndQuot(serializer.serialize(object));
-        // 8
-        if (BeanUtil.hasOwnMethod(object.getClass(), "toString", 8))
-            return escapeAndQuot(object.toString());
-        // 9
-        return reflect2JSONString(object);
+        StringBuilder builder = new StringBuilder();
+        try {
+            new JSONWriter(builder).write(object, serializer);
+        } catch (IOException e) {
+            throw new JSONException(e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 规范化序列化，规则与{@link #serializer(Object, CustomSerializer)}一致
+     * 各级JSON对象的键都按字典序输出，输出与键的插入顺序无关
+     * 数值按其原有文本输出，不做规范化，因此1.0与1、1e2与100的输出不同
+     *
+     * @see JSONWriter#setSortKeys(boolean)
+     */
+    public static String canonical(Object object, CustomSerializer serializer) {
+        StringBuilder builder = new StringBuilder();
+        try {
+            new JSONWriter(builder).setSortKeys(true).write(object, serializer);
+        } catch (IOException e) {
+            throw new JSONException(e);
+        }
+        return builder.toString();
     }
 
     /**
@@ -76,92 +68,108 @@ public final class JSONSerializer {
      * static, transient 关键字修饰的字段将被过滤
      */
     public static String reflect2JSONString(Object object) {
-        return new JSONObject(BeanUtil.object2Map(object, (8 + 128))).toJSONString();
+        StringBuilder builder = new StringBuilder();
+        try {
+            new JSONWriter(builder).writeBean(object);
+        } catch (IOException e) {
+            throw new JSONException(e);
+        }
+        return builder.toString();
     }
 
     /**
      * 生成一个JSONValueString字段
      * 此方法会根据JSON标准对字符串内的字符进行转义
      * 并且在字符串边界加上双引号
+     * 通过查找表判断需转义字符，无转义字符的片段整体复制
      */
     public static String escapeAndQuot(String str) {
-        CharLinkedSequence sequence = new CharLinkedSequence(str);
-        sequence.replace(c -> {
-            if (isEscapeChar(c))
-                return escape(c);
-            else
-                return null;
-        });
-        return DOUBLE_QUOT + sequence.toString() + DOUBLE_QUOT;
+        final int first = indexOfEscape(str);
+        final int len = str.length();
+        if (first < 0)
+            return new StringBuilder(len + 2).append(DOUBLE_QUOT).append(str).append(DOUBLE_QUOT).toString();
+
+        StringBuilder builder = new StringBuilder(len + (len >> 3) + 4);
+        builder.append(DOUBLE_QUOT);
+        appendEscaped(builder, str, first);
+        return builder.append(DOUBLE_QUOT).toString();
     }
 
-    @SuppressWarnings("unchecked")
-    public static String map2JSONString(Map map, CustomSerializer serializer) {
-        StringBuilder builder = new StringBuilder((map.size() << 3) + 4);
-        builder.append(LBRACE);
-
-        // body
-        map.forEach((k, v) -> {
-            // key
-            builder.append(escapeAndQuot(k.toString()));
-
-            // :
-            builder.append(COLON);
-
-            // value
-            builder.append(serializer(v, serializer));
+    /**
+     * 根据JSON标准对字符串内的字符进行转义，不加边界引号
+     * 无需转义时直接返回参数本身
+     */
+    public static String escape(String str) {
+        final int first = indexOfEscape(str);
+        if (first < 0)
+            return str;
+
+        final int len = str.length();
+        StringBuilder builder = new StringBuilder(len + (len >> 3) + 2);
+        appendEscaped(builder, str, first);
+        return builder.toString();
+    }
 
-            // ,
-            builder.append(COMMA);
-        });
+    /**
+     * 第一个需转义字符的下标，不存在时返回-1
+     */
+    private static int indexOfEscape(String str) {
+        final int len = str.length();
+        for (int i = 0; i < len; i++) {
+            if (escapeSymbol(str.charAt(i)) != 0)
+                return i;
+        }
+        return -1;
+    }
 
-        // delete last comma
-        int last = builder.length() - 1;
-        if (builder.charAt(last) == COMMA)
-            builder.deleteCharAt(last);
+    /**
+     * 从first开始转义，两个转义字符之间的片段整体复制
+     */
+    private static void appendEscaped(StringBuilder builder, String str, int first) {
+        final int len = str.length();
+        builder.append(str, 0, first);
+        int run = first;
+        for (int i = first; i < len; i++) {
+            char symbol = escapeSymbol(str.charAt(i));
+            if (symbol != 0) {
+                builder.append(str, run, i).append(REVERSE_SOLIDUS).append(symbol);
+                run = i + 1;
+            }
+        }
+        builder.append(str, run, len);
+    }
 
-        builder.append(RBRACE);
+    public static String map2JSONString(Map map, CustomSerializer serializer) {
+        StringBuilder builder = new StringBuilder((map.size() << 3) + 4);
+        try {
+            new JSONWriter(builder).writeMap(map, serializer);
+        } catch (IOException e) {
+            throw new JSONException(e);
+        }
         return builder.toString();
     }
 
-    @SuppressWarnings("unchecked")
     public static String collection2JSONString(Collection collection, CustomSerializer serializer) {
-        final StringBuilder builder = new StringBuilder((collection.size() << 2) + 4);
-        builder.append(LBRACKET);
-
-        collection.forEach(
-                object -> builder.append(serializer(object, serializer)).append(COMMA)
-        );
-
-        // delete last comma
-        int last = builder.length() - 1;
-        if (builder.charAt(last) == COMMA)
-            builder.deleteCharAt(last);
-
-        builder.append(RBRACKET);
+        StringBuilder builder = new StringBuilder((collection.size() << 2) + 4);
+        try {
+            new JSONWriter(builder).writeCollection(collection, serializer);
+        } catch (IOException e) {
+            throw new JSONException(e);
+        }
         return builder.toString();
     }
 
-    @SuppressWarnings("unchecked")
     public static <T> String array2JSONString(Object object, CustomSerializer serializer) {
-        Assert.judge(() -> !object.getClass().isArray());
-        return array2JSONString((T[]) object, serializer);
+        StringBuilder builder = new StringBuilder();
+        try {
+            new JSONWriter(builder).writeArray(object, serializer);
+        } catch (IOException e) {
+            throw new JSONException(e);
+        }
+        return builder.toString();
     }
 
     public static <T> String array2JSONString(T[] a, CustomSerializer serializer) {
-        final StringBuilder builder = new StringBuilder((a.length << 2) + 4);
-        builder.append(LBRACKET);
-
-        Arrays.stream(a).forEach(
-                object -> builder.append(serializer(object, serializer)).append(COMMA)
-        );
-
-        // delete last comma
-        int last = builder.length() - 1;
-        if (builder.charAt(last) == COMMA)
-            builder.deleteCharAt(last);
-
-        builder.append(RBRACKET);
-        return builder.toString();
+        return array2JSONString((Object) a, serializer);
     }
 }
@@ -0,0 +1,500 @@
+package org.r2.devkit.json.util;
+
+import org.r2.devkit.Assert;
+import org.r2.devkit.IllegalDataException;
+import org.r2.devkit.json.JSON;
+import org.r2.devkit.json.JSONArray;
+import org.r2.devkit.json.JSONException;
+import org.r2.devkit.json.JSONObject;
+import org.r2.devkit.json.field.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+import static org.r2.devkit.json.JSONToken.*;
+
+/**
+ * UTF-8字节形式的JSON解析算法
+ * 直接在字节上进行语法解析，不需要预先将整个输入解码为字符串
+ *
+ * [字符串]
+ * 解析时仅扫描字符串边界并校验转义符，值字符串以{@link JSONValueString}延迟解码的形式保存
+ * 只有在读取字符串内容时才会进行UTF-8解码，键字符串会被立即解码
+ * 因此在解析结果的字符串被读取之前，调用方不能修改输入的字节内容
+ *
+ * [语法]
+ * 与{@link JSONStringParser}保持一致，允许以单引号作为字符串边界
+ * 输入开头的UTF-8 BOM会被忽略
+ *
+ * [文件映射]
+ * 通过{@link #parse(FileChannel)}解析时，文件以只读方式映射至内存，由操作系统按需换入，内容不会被复制至堆中
+ * 文件较大时分多个窗口映射，每个窗口最多{@link #WINDOW_SIZE}字节，值之间的位置距离窗口末尾不足{@link #WINDOW_MARGIN}字节时映射下一个窗口
+ * 因此单个字符串或数值的长度不能超过{@link #WINDOW_MARGIN}字节
+ * 延迟解码的字符串持有其所在窗口的引用，窗口在所有引用它的字符串解码之前不会被释放
+ *
+ * Thread unsafe
+ *
+ * @author ruan4261
+ */
+public final class JSONByteParser {
+
+    public static final int WINDOW_SIZE = 1 << 30;
+    public static final int WINDOW_MARGIN = 1 << 26;
+
+    private ByteBuffer buffer;
+    private int limit;
+    private int pos;
+
+    // 文件映射时的来源、文件长度，以及当前窗口在文件中的起点
+    private FileChannel channel;
+    private long size;
+    private long base;
+
+    // 最近一次扫描的字符串内容起点，以及是否含有转义符
+    private int stringStart;
+    private boolean stringEscaped;
+
+    private JSONByteParser(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.pos = buffer.position();
+        this.limit = buffer.limit();
+    }
+
+    /**
+     * 解析UTF-8字节数组中的指定片段
+     *
+     * @param utf8   UTF-8编码的JSON内容
+     * @param offset 解析开始的偏移量
+     * @param length 解析的字节长度
+     * @throws IllegalDataException 参数为null，或片段越界
+     * @throws JSONException        解析失败
+     */
+    public static JSON parse(byte[] utf8, int offset, int length) {
+        Assert.notNull(utf8);
+        Assert.judge(() -> offset < 0 || length < 0 || length > utf8.length - offset,
+                "Series length is " + utf8.length + ", but offset is " + offset + ", length is " + length);
+        return parse(ByteBuffer.wrap(utf8, offset, length));
+    }
+
+    /**
+     * 解析ByteBuffer中position至limit之间的UTF-8内容
+     * 参数的position与limit不会被修改
+     *
+     * @throws JSONException 解析失败
+     */
+    public static JSON parse(ByteBuffer utf8) {
+        Assert.notNull(utf8);
+        JSONByteParser parser = new JSONByteParser(utf8.duplicate());
+        parser.skipBOM();
+        JSON json = parser.parseValue();
+
+        // 判断剩余部分是否可忽略，不可忽略则抛出异常
+        if (parser.nextNonIgnorable() != -1)
+            throw parser.error("Bytes cannot parse, redundant content");
+        return json;
+    }
+
+    /**
+     * 以只读映射的方式解析文件中的UTF-8内容，支持超过2GB的文件
+     * 映射在解析结束后仍然有效，解析结束后即可关闭参数channel
+     *
+     * @throws IOException   映射失败
+     * @throws JSONException 解析失败
+     */
+    public static JSON parse(FileChannel channel) throws IOException {
+        Assert.notNull(channel);
+        final long size = channel.size();
+        JSONByteParser parser = new JSONByteParser(channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, WINDOW_SIZE)));
+        if (size > WINDOW_SIZE) {
+            parser.channel = channel;
+            parser.size = size;
+        }
+
+        try {
+            parser.skipBOM();
+            JSON json = parser.parseValue();
+
+            // 判断剩余部分是否可忽略，不可忽略则抛出异常
+            if (parser.nextNonIgnorable() != -1)
+                throw parser.error("Bytes cannot parse, redundant content");
+            return json;
+        } catch (UncheckedMappingException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 当前位置距离窗口末尾不足{@link #WINDOW_MARGIN}且文件还有剩余内容时，从当前位置开始映射下一个窗口
+     */
+    private void slide() {
+        final FileChannel channel = this.channel;
+        if (channel == null || this.limit - this.pos >= WINDOW_MARGIN)
+            return;
+
+        if (!this.hasNextWindow())
+            return;
+
+        try {
+            final long base = this.base + this.pos;
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, base, Math.min(this.size - base, WINDOW_SIZE));
+            this.base = base;
+            this.limit = this.buffer.limit();
+            this.pos = 0;
+        } catch (IOException e) {
+            throw new UncheckedMappingException(e);
+        }
+    }
+
+    private boolean hasNextWindow() {
+        return this.channel != null && this.base + this.limit < this.size;
+    }
+
+    /**
+     * 在解析过程中传递映射窗口时的IOException
+     */
+    private static final class UncheckedMappingException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        UncheckedMappingException(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+
+    /**
+     * 根据首字节调用不同类型的解析
+     * 在发现第一个可用符号前，JSON语法规范的可忽略字符会被跳过
+     */
+    private JSON parseValue() {
+        int c = nextNonIgnorable();
+        switch (c) {
+            case QUOT:
+            case DOUBLE_QUOT:
+                scanString(c);
+                return new JSONValueString(this.buffer, this.stringStart, this.pos - 1 - this.stringStart, this.stringEscaped);
+            case 'f':
+                parseLiteral("false");
+                return JSONValueBoolean.getInstanceFalse();
+            case 't':
+                parseLiteral("true");
+                return JSONValueBoolean.getInstanceTrue();
+            case 'n':
+                parseLiteral("null");
+                return JSONValueNull.getInstance();
+            case LBRACE:
+                return parseObject();
+            case LBRACKET:
+                return parseArray();
+            case -1:
+                throw error("Bytes cannot parse, unexpected end");
+            default:
+                if (c == '-' || (c >= '0' && c <= '9'))
+                    return parseNumber();
+
+                // 首字符不可用
+                throw error("Bytes cannot parse");
+        }
+    }
+
+    /**
+     * pos位于左大括号
+     */
+    private JSONObject parseObject() {
+        this.pos++;
+        JSONObject body = new JSONObject();
+
+        int c = nextNonIgnorable();
+        if (c == RBRACE) {
+            this.pos++;
+            return body;
+        }
+
+        for (; ; ) {
+            if (c != QUOT && c != DOUBLE_QUOT)
+                throw error("Bytes cannot parse, miss quotation");
+            scanString(c);
+            String key = decodeString(this.buffer, this.stringStart, this.pos - 1 - this.stringStart, this.stringEscaped);
+
+            if (nextNonIgnorable() != COLON)
+                throw error("Bytes cannot parse, miss colon");
+            this.pos++;
+
+            // 键值对构成
+            body.put(key, parseValue());
+
+            c = nextNonIgnorable();
+            if (c == COMMA) {
+                this.pos++;
+                c = nextNonIgnorable();
+            } else if (c == RBRACE) {
+                this.pos++;
+                return body;
+            } else
+                throw error("Bytes cannot parse, miss comma");
+        }
+    }
+
+    /**
+     * pos位于左中括号
+     */
+    private JSONArray parseArray() {
+        this.pos++;
+        JSONArray body = new JSONArray();
+
+        if (nextNonIgnorable() == RBRACKET) {
+            this.pos++;
+            return body;
+        }
+
+        for (; ; ) {
+            body.add(parseValue());
+
+            int c = nextNonIgnorable();
+            if (c == COMMA) {
+                this.pos++;
+            } else if (c == RBRACKET) {
+                this.pos++;
+                return body;
+            } else
+                throw error("Bytes cannot parse, miss comma");
+        }
+    }
+
+    /**
+     * 扫描pos位置的字符串，仅校验转义符，不进行解码
+     * 多字节UTF-8序列中的每个字节都不小于0x80，不会与引号或反斜杠混淆
+     * 扫描结束后pos位于结尾引号之后
+     */
+    private void scanString(int quot) {
+        final ByteBuffer buffer = this.buffer;
+        final int l = this.limit;
+        boolean escaped = false;
+
+        for (int p = this.pos + 1; p < l; p++) {
+            byte b = buffer.get(p);
+            if (b == quot) {
+                this.stringStart = this.pos + 1;
+                this.stringEscaped = escaped;
+                this.pos = p + 1;
+                return;
+            } else if (b == REVERSE_SOLIDUS) {
+                escaped = true;
+                p = checkEscape(p + 1);
+            }
+        }
+        if (this.hasNextWindow())
+            throw error("Bytes cannot parse, string exceeds mapping window");
+        throw error("Bytes cannot parse, miss quotation mark");
+    }
+
+    /**
+     * 校验反斜杠之后的转义符
+     *
+     * @param p 反斜杠之后的下标
+     * @return 转义序列最后一个字节的下标
+     */
+    private int checkEscape(int p) {
+        if (p >= this.limit)
+            throw error("Bytes cannot escape");
+
+        switch (this.buffer.get(p)) {
+            case QUOT:
+            case DOUBLE_QUOT:
+            case REVERSE_SOLIDUS:
+            case SOLIDUS:
+            case LINE_FEED_CHAR:
+            case TAB_CHAR:
+            case CARRIAGE_RETURN_CHAR:
+            case BACKSPACE_CHAR:
+            case FORM_FEED_CHAR:
+                return p;
+            case UNICODE_CHAR:
+                if (this.limit - p <= 4)
+                    throw error("Bytes cannot escape");
+                for (int i = 1; i <= 4; i++) {
+                    if (hex(this.buffer.get(p + i)) < 0)
+                        throw error("Bytes cannot escape");
+                }
+                return p + 4;
+            default:
+                throw error("Bytes cannot escape");
+        }
+    }
+
+    /**
+     * 解析数值，校验规则与{@link JSONStringParser}一致
+     * 遇到JSON语法可忽略字符或 , 或 } 或 ] 字符或输入结束时返回解析结果
+     */
+    private JSONValueNumber parseNumber() {
+        final ByteBuffer buffer = this.buffer;
+        final int start = this.pos;
+        int p = start + 1;
+
+        boolean point = false;
+        boolean exponent = false;
+        boolean sign = false;
+
+        for (; p < this.limit; p++) {
+            byte c = buffer.get(p);
+            if (isIgnorable((char) c) || c == COMMA || c == RBRACE || c == RBRACKET) {
+                break;
+            } else if (c == '.') {
+                if (point)
+                    throw error("Bytes cannot parse to number");
+                point = true;
+            } else if (c == 'e' || c == 'E') {
+                if (exponent)
+                    throw error("Bytes cannot parse to number");
+                exponent = point = true;
+            } else if (c == '-' || c == '+') {
+                if (sign || !exponent)
+                    throw error("Bytes cannot parse to number");
+
+                byte prev = buffer.get(p - 1);
+                if (prev != 'e' && prev != 'E')
+                    throw error("Bytes cannot parse to number");
+
+                sign = true;
+            } else if (!(c >= '0' && c <= '9'))
+                throw error("Bytes cannot parse to number");
+        }
+
+        this.pos = p;
+        return JSONValueNumber.valueOf(buffer, start, p);
+    }
+
+    private void parseLiteral(String literal) {
+        final int len = literal.length();
+        if (this.limit - this.pos < len)
+            throw error("Bytes cannot parse to " + literal);
+
+        for (int i = 0; i < len; i++) {
+            if (this.buffer.get(this.pos + i) != literal.charAt(i))
+                throw error("Bytes cannot parse to " + literal);
+        }
+        this.pos += len;
+    }
+
+    /**
+     * 跳过JSON语法可忽略字符，返回下一个字节但不消费
+     * 文件映射时，必要时在此切换至下一个窗口
+     * 输入结束时返回-1
+     */
+    private int nextNonIgnorable() {
+        for (; ; ) {
+            for (; this.pos < this.limit; this.pos++) {
+                int b = this.buffer.get(this.pos) & 0xFF;
+                if (!isIgnorable((char) b)) {
+                    this.slide();
+                    return this.buffer.get(this.pos) & 0xFF;
+                }
+            }
+            final int limit = this.limit;
+            this.slide();
+            if (this.limit == limit && this.pos == limit)
+                return -1;
+        }
+    }
+
+    private void skipBOM() {
+        if (this.limit - this.pos >= 3
+                && this.buffer.get(this.pos) == (byte) 0xEF
+                && this.buffer.get(this.pos + 1) == (byte) 0xBB
+                && this.buffer.get(this.pos + 2) == (byte) 0xBF)
+            this.pos += 3;
+    }
+
+    private JSONException error(String mes) {
+        return new JSONException(mes + "(off " + (this.base + this.pos) + ")");
+    }
+
+    /**
+     * 将字节片段解码为字符串，按照RFC4627对内容进行转义
+     * 调用方需保证片段内的转义符已校验通过
+     *
+     * @param buffer  字节来源，使用绝对下标读取
+     * @param offset  字符串内容（不含引号）的起点
+     * @param length  字符串内容的字节长度
+     * @param escaped 片段内是否含有反斜杠，为false时整个片段直接解码
+     */
+    public static String decodeString(ByteBuffer buffer, int offset, int length, boolean escaped) {
+        if (!escaped)
+            return utf8(buffer, offset, length);
+
+        final int end = offset + length;
+        StringBuilder body = new StringBuilder(length);
+        int run = offset;
+        for (int p = offset; p < end; ) {
+            if (buffer.get(p) != REVERSE_SOLIDUS) {
+                p++;
+                continue;
+            }
+
+            // 无转义的片段整体解码
+            if (p > run)
+                body.append(utf8(buffer, run, p - run));
+
+            byte c = buffer.get(p + 1);
+            p += 2;
+            switch (c) {
+                case LINE_FEED_CHAR:
+                    body.append(LINE_FEED);
+                    break;
+                case TAB_CHAR:
+                    body.append(TAB);
+                    break;
+                case CARRIAGE_RETURN_CHAR:
+                    body.append(CARRIAGE_RETURN);
+                    break;
+                case BACKSPACE_CHAR:
+                    body.append(BACKSPACE);
+                    break;
+                case FORM_FEED_CHAR:
+                    body.append(FORM_FEED);
+                    break;
+                case UNICODE_CHAR:
+                    int unicode = 0;
+                    for (int i = 0; i < 4; i++)
+                        unicode = (unicode << 4) + hex(buffer.get(p++));
+                    body.append((char) unicode);
+                    break;
+                default:
+                    // ' " \ /
+                    body.append((char) c);
+                    break;
+            }
+            run = p;
+        }
+
+        if (run < end)
+            body.append(utf8(buffer, run, end - run));
+        return body.toString();
+    }
+
+    private static String utf8(ByteBuffer buffer, int offset, int length) {
+        if (buffer.hasArray())
+            return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+
+        byte[] bytes = new byte[length];
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(offset);
+        slice.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int hex(byte b) {
+        if (b >= '0' && b <= '9')
+            return b - '0';
+        else if (b >= 'a' && b <= 'f')
+            return b - 'a' + 10;
+        else if (b >= 'A' && b <= 'F')
+            return b - 'A' + 10;
+        return -1;
+    }
+}
@@ -0,0 +1,136 @@
+package org.r2.devkit.json.util;
+
+import org.r2.devkit.Assert;
+import org.r2.devkit.IllegalDataException;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 预编译的JSONObject键集合，用于按已知结构解析对象
+ * 解析时以键在源字符串中的字符区间直接匹配，返回键的序号，不会构造String，也不会计算哈希值
+ *
+ * [匹配]
+ * 编译时按长度将键分组，匹配时先以区间长度定位分组，再依次比较首字符与尾字符，最后比较完整内容
+ * 同一分组内首尾字符都相同的键才需要逐字符比较，常见的字段名通常在比较首字符时即可确定
+ *
+ * 实例不可变，可以在多个线程中共享
+ *
+ * @author ruan4261
+ * @see JSONStringParser#parseObject(JSONKeyMatcher, IndexedFieldConsumer)
+ */
+public final class JSONKeyMatcher {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final String[] keys;
+    // 下标为键的长度，值为该长度的键的序号
+    private final int[][] groups;
+    // 含有转义符的键解码后使用
+    private final Map<String, Integer> indexes;
+
+    private JSONKeyMatcher(String[] keys) {
+        this.keys = keys;
+        this.indexes = new HashMap<>(keys.length << 1);
+
+        int max = 0;
+        for (int i = 0; i < keys.length; i++) {
+            final String key = keys[i];
+            Assert.notNull(key, "key");
+            if (this.indexes.putIfAbsent(key, i) != null)
+                throw new IllegalDataException("Duplicate key : " + key);
+            max = Math.max(max, key.length());
+        }
+
+        this.groups = new int[max + 1][];
+        int[] counts = new int[max + 1];
+        for (String key : keys)
+            counts[key.length()]++;
+        for (int l = 0; l <= max; l++)
+            this.groups[l] = counts[l] == 0 ? EMPTY : new int[counts[l]];
+        for (int i = 0; i < keys.length; i++) {
+            final int l = keys[i].length();
+            this.groups[l][this.groups[l].length - counts[l]--] = i;
+        }
+    }
+
+    /**
+     * 键的序号为其在参数中的位置
+     *
+     * @throws IllegalDataException 参数为null，或含有null或重复的键
+     */
+    public static JSONKeyMatcher of(String... keys) {
+        Assert.notNull(keys, "keys");
+        return new JSONKeyMatcher(keys.clone());
+    }
+
+    /**
+     * 键的序号为其在集合迭代顺序中的位置
+     *
+     * @throws IllegalDataException 参数为null，或含有null或重复的键
+     */
+    public static JSONKeyMatcher of(Collection<String> keys) {
+        Assert.notNull(keys, "keys");
+        return new JSONKeyMatcher(keys.toArray(new String[0]));
+    }
+
+    /**
+     * 键的数量
+     */
+    public int size() {
+        return this.keys.length;
+    }
+
+    /**
+     * 序号对应的键
+     */
+    public String key(int index) {
+        return this.keys[index];
+    }
+
+    /**
+     * 获取text中[start, end)区间内容对应的键的序号，不存在时返回-1
+     * 区间内容按原样比较，不做转义处理
+     */
+    public int indexOf(CharSequence text, int start, int end) {
+        final int length = end - start;
+        final int[][] groups = this.groups;
+        if (length >= groups.length)
+            return -1;
+
+        final int[] group = groups[length];
+        if (group.length == 0)
+            return -1;
+        if (length == 0)
+            return group[0];
+
+        final char first = text.charAt(start);
+        final char last = text.charAt(end - 1);
+        for (int index : group) {
+            final String key = this.keys[index];
+            if (key.charAt(0) != first || key.charAt(length - 1) != last)
+                continue;
+            if (matches(key, text, start, length))
+                return index;
+        }
+        return -1;
+    }
+
+    /**
+     * 获取键的序号，不存在时返回-1
+     */
+    public int indexOf(String key) {
+        Integer index = this.indexes.get(key);
+        return index == null ? -1 : index;
+    }
+
+    private static boolean matches(String key, CharSequence text, int start, int length) {
+        // 首尾字符已比较
+        for (int i = 1; i < length - 1; i++) {
+            if (key.charAt(i) != text.charAt(start + i))
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,99 @@
+package org.r2.devkit.json.util;
+
+import org.r2.devkit.Assert;
+import org.r2.devkit.IllegalDataException;
+
+import java.util.Arrays;
+
+/**
+ * JSONObject键的符号表
+ * 解析时以字符区间查找键，相同内容的键返回同一个String实例
+ * 命中时不会创建任何对象，大量同构对象的键因此只保留一份
+ *
+ * [容量]
+ * 符号表为直接映射的定长哈希表，哈希冲突时新键覆盖旧键，不会扩容
+ * 超过最大长度的键不会进入符号表
+ * 键的种类远多于容量时命中率很低，此时应在解析器上关闭符号表
+ *
+ * Thread unsafe
+ *
+ * @author ruan4261
+ */
+public final class JSONKeyTable {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+    public static final int DEFAULT_MAX_KEY_LENGTH = 64;
+
+    private final int mask;
+    private final int maxKeyLength;
+
+    // 首次使用时创建
+    private String[] symbols;
+    private int[] hashes;
+
+    public JSONKeyTable() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_KEY_LENGTH);
+    }
+
+    /**
+     * @param capacity     槽位数量，将向上取整为2的幂
+     * @param maxKeyLength 可进入符号表的键的最大长度
+     * @throws IllegalDataException capacity不为正数，或maxKeyLength为负数
+     */
+    public JSONKeyTable(int capacity, int maxKeyLength) {
+        Assert.judge(() -> capacity <= 0 || capacity > 1 << 30 || maxKeyLength < 0,
+                "Capacity is " + capacity + ", max key length is " + maxKeyLength);
+        this.mask = (capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1) - 1;
+        this.maxKeyLength = maxKeyLength;
+    }
+
+    /**
+     * 获取text中[start, end)区间内容对应的键
+     * 符号表中存在相同内容的键时直接返回该实例，否则创建新的字符串并记录
+     */
+    public String lookup(CharSequence text, int start, int end) {
+        final int length = end - start;
+        if (length > this.maxKeyLength)
+            return text.subSequence(start, end).toString();
+
+        // 与String#hashCode()一致
+        int h = 0;
+        for (int i = start; i < end; i++)
+            h = 31 * h + text.charAt(i);
+
+        if (this.symbols == null) {
+            this.symbols = new String[this.mask + 1];
+            this.hashes = new int[this.mask + 1];
+        }
+
+        final int index = (h ^ (h >>> 16)) & this.mask;
+        String symbol = this.symbols[index];
+        if (symbol != null && this.hashes[index] == h && matches(symbol, text, start, length))
+            return symbol;
+
+        symbol = text.subSequence(start, end).toString();
+        this.symbols[index] = symbol;
+        this.hashes[index] = h;
+        return symbol;
+    }
+
+    /**
+     * 清空符号表中的所有键
+     */
+    public void clear() {
+        if (this.symbols != null) {
+            Arrays.fill(this.symbols, null);
+            Arrays.fill(this.hashes, 0);
+        }
+    }
+
+    private static boolean matches(String symbol, CharSequence text, int start, int length) {
+        if (symbol.length() != length)
+            return false;
+        for (int i = 0; i < length; i++) {
+            if (symbol.charAt(i) != text.charAt(start + i))
+                return false;
+        }
+        return true;
+    }
+}
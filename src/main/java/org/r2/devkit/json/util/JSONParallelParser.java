@@ -0,0 +1,210 @@
+package org.r2.devkit.json.util;
+
+import org.r2.devkit.Assert;
+import org.r2.devkit.IllegalDataException;
+import org.r2.devkit.json.JSONArray;
+import org.r2.devkit.json.JSONException;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static org.r2.devkit.json.JSONToken.*;
+
+/**
+ * 顶层JSONArray的并行解析算法
+ *
+ * [过程]
+ * 1.预扫描：在单个线程中跳过字符串内容，只统计括号深度，记录深度为1的逗号与结尾的右中括号
+ * 2.按元素分块，每块由独立的{@link JSONStringParser}在线程池中解析
+ * 3.按原顺序拼接结果
+ *
+ * [一致性]
+ * 每个元素解析结束后，其后的首个非忽略字符必须恰好是预扫描记录的分隔符
+ * 只要该条件对每个元素成立，结果就与顺序解析完全一致
+ * 预扫描失败、分隔符不一致或任一元素解析失败时，改用顺序解析，异常信息与顺序解析相同
+ *
+ * @author ruan4261
+ */
+public final class JSONParallelParser {
+
+    // 剩余字符少于此值时直接顺序解析
+    private static final int MIN_PARALLEL_LENGTH = 1 << 16;
+    // 每块最少的元素数量
+    private static final int MIN_CHUNK_ELEMENTS = 256;
+    // 每个并行线程分得的块数，用于平衡不同元素的解析耗时
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private JSONParallelParser() {
+    }
+
+    /**
+     * 解析出一个JSONArray，元素在线程池中并行解析
+     * 输入较小或线程池并行度为1时与{@link JSONStringParser#parse2JSONArray(String, int)}相同
+     *
+     * @param str    被解析的字符串
+     * @param offset 解析开始的偏移量
+     * @param pool   执行解析的线程池
+     * @throws IllegalDataException 参数为null，或offset非法
+     * @throws JSONException        解析失败
+     */
+    public static Holder<JSONArray> parse2JSONArray(String str, int offset, ForkJoinPool pool) {
+        Assert.legalOffset(str, offset);
+        Assert.notNull(pool, "pool");
+        if (str.length() - offset < MIN_PARALLEL_LENGTH || pool.getParallelism() <= 1)
+            return JSONStringParser.parse2JSONArray(str, offset);
+
+        int[] delimiters = scan(str, offset);
+        if (delimiters == null)
+            return JSONStringParser.parse2JSONArray(str, offset);
+
+        // 分隔符数量即元素数量，最后一个分隔符为右中括号
+        final int elements = delimiters.length - 1;
+        final int end = delimiters[elements] + 1;
+        final int chunks = Math.min(elements / MIN_CHUNK_ELEMENTS, pool.getParallelism() * CHUNKS_PER_THREAD);
+        if (chunks <= 1)
+            return JSONStringParser.parse2JSONArray(str, offset);
+
+        final Object[] values = new Object[elements];
+        final Chunk[] tasks = new Chunk[chunks];
+        for (int i = 0; i < chunks; i++)
+            tasks[i] = new Chunk(str, delimiters, values, (int) ((long) elements * i / chunks), (int) ((long) elements * (i + 1) / chunks));
+
+        try {
+            pool.invoke(new RecursiveAction() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        } catch (RuntimeException e) {
+            // 由顺序解析给出准确的异常
+            return JSONStringParser.parse2JSONArray(str, offset);
+        }
+
+        return new Holder<>(new JSONArray(values), end);
+    }
+
+    /**
+     * 预扫描顶层数组，不构造任何值
+     * 返回值的首位为左中括号的偏移量，其后依次为各元素之后的分隔符（逗号或结尾的右中括号）的偏移量
+     * 因此第i个元素位于第i位与第i+1位之间
+     * 空数组或结构不完整时返回null
+     */
+    private static int[] scan(String str, int offset) {
+        final int len = str.length();
+
+        // 首字符，必须为 [
+        for (; offset < len; offset++) {
+            char c = str.charAt(offset);
+            if (!isIgnorable(c)) {
+                if (LBRACKET != c)
+                    return null;
+                break;
+            }
+        }
+        if (offset == len)
+            return null;
+
+        int[] delimiters = new int[1024];
+        delimiters[0] = offset;
+        int count = 0;
+        int depth = 0;
+        for (; offset < len; offset++) {
+            char c = str.charAt(offset);
+            switch (c) {
+                case QUOT:
+                case DOUBLE_QUOT:
+                    // 跳过字符串内容，转义符之后的字符总是被跳过
+                    for (offset++; offset < len; offset++) {
+                        char ch = str.charAt(offset);
+                        if (ch == REVERSE_SOLIDUS)
+                            offset++;
+                        else if (ch == c)
+                            break;
+                    }
+                    if (offset >= len)
+                        return null;
+                    break;
+                case LBRACE:
+                case LBRACKET:
+                    depth++;
+                    break;
+                case RBRACE:
+                case RBRACKET:
+                    if (--depth > 0)
+                        break;
+                    if (depth < 0 || RBRACKET != c)
+                        return null;
+                    // 结束，空数组交由顺序解析
+                    if (count == 0 && isBlank(str, delimiters[0] + 1, offset))
+                        return null;
+                    if (++count == delimiters.length)
+                        delimiters = Arrays.copyOf(delimiters, count << 1);
+                    delimiters[count] = offset;
+                    return Arrays.copyOf(delimiters, count + 1);
+                case COMMA:
+                    if (depth == 1) {
+                        if (++count == delimiters.length)
+                            delimiters = Arrays.copyOf(delimiters, count << 1);
+                        delimiters[count] = offset;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String str, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isIgnorable(str.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * 解析[from, to)区间内的元素，结果写入values的对应位置
+     */
+    private static final class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final String str;
+        private final int[] delimiters;
+        private final Object[] values;
+        private final int from;
+        private final int to;
+
+        Chunk(String str, int[] delimiters, Object[] values, int from, int to) {
+            this.str = str;
+            this.delimiters = delimiters;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            final String str = this.str;
+            final int[] delimiters = this.delimiters;
+            JSONStringParser parser = new JSONStringParser();
+
+            for (int i = this.from; i < this.to; i++) {
+                parser.reset(str, delimiters[i] + 1);
+                this.values[i] = parser.parseValue();
+
+                // 元素之后必须恰好是预扫描记录的分隔符
+                int offset = parser.getOffset();
+                final int delimiter = delimiters[i + 1];
+                while (offset < delimiter && isIgnorable(str.charAt(offset)))
+                    offset++;
+                if (offset != delimiter)
+                    throw new JSONException("Element boundary mismatch(off " + offset + ")");
+            }
+        }
+    }
+}
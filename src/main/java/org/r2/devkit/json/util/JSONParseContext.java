@@ -0,0 +1,142 @@
+package org.r2.devkit.json.util;
+
+import org.r2.devkit.Assert;
+import org.r2.devkit.IllegalDataException;
+import org.r2.devkit.json.JSON;
+import org.r2.devkit.json.JSONArray;
+import org.r2.devkit.json.JSONException;
+import org.r2.devkit.json.JSONObject;
+
+import java.util.Arrays;
+
+/**
+ * JSON容器的复用池，适用于在同一线程中反复解析、读取并丢弃JSON的场景
+ *
+ * [使用]
+ * 解析器设置上下文后（{@link JSONStringParser#setContext(JSONParseContext)}），解析出的JSONObject与JSONArray都从池中获取
+ * 读取完毕后调用{@link #reset()}，所有获取过的容器被清空并归还至池中，其内部的键值数组与ArrayList连同已扩容的存储一起被复用
+ * 稳定运行后，容器本身不再产生新的对象，每次解析只会创建字符串、数值等叶子节点
+ *
+ * [注意]
+ * reset()之后，此前解析得到的所有JSONObject与JSONArray都会被清空并在下一次解析中被重新使用
+ * 因此解析结果不能在reset()之后继续使用，也不能被保存至上下文之外，需要保留时请使用clone()
+ *
+ * [容量]
+ * 池中最多保留{@link #MAX_RETAINED_CONTAINERS}个容器，元素数量超过{@link #MAX_RETAINED_ENTRIES}的容器不会被复用
+ * 避免偶发的大型JSON使池长期持有过多内存
+ *
+ * Thread unsafe
+ *
+ * @author ruan4261
+ */
+public final class JSONParseContext {
+
+    public static final int MAX_RETAINED_CONTAINERS = 1 << 14;
+    public static final int MAX_RETAINED_ENTRIES = 1024;
+
+    private static final ThreadLocal<JSONParseContext> LOCAL = ThreadLocal.withInitial(JSONParseContext::new);
+
+    // 池中的容器，下标小于used的部分已被获取
+    private JSONObject[] objects = new JSONObject[16];
+    private int objectsUsed;
+    private JSONArray[] arrays = new JSONArray[16];
+    private int arraysUsed;
+
+    private final JSONStringParser parser = new JSONStringParser().setContext(this);
+
+    public JSONParseContext() {
+    }
+
+    /**
+     * 获取当前线程的上下文
+     */
+    public static JSONParseContext local() {
+        return LOCAL.get();
+    }
+
+    /**
+     * 以本上下文解析JSON字符串，语法与{@link JSON#parse(String)}一致
+     * 解析结果在调用{@link #reset()}之前有效
+     *
+     * @throws IllegalDataException 参数为空
+     * @throws JSONException        解析失败
+     */
+    public JSON parse(String str) {
+        Assert.notEmpty(str);
+        final JSONStringParser parser = this.parser;
+        parser.reset(str, 0);
+        try {
+            JSON json = parser.parseValue();
+
+            // 判断字符串剩余部分是否可忽略，不可忽略则抛出异常
+            JSONParseCheck.ignore(str, parser.getOffset(), "String cannot parse to JSON : " + str);
+            return json;
+        } finally {
+            // 解析器由本上下文持有，不能恢复默认配置，否则之后的解析不再使用复用池
+            parser.detach();
+        }
+    }
+
+    /**
+     * 清空所有获取过的容器并归还至池中
+     */
+    public void reset() {
+        final JSONObject[] objects = this.objects;
+        for (int i = 0; i < this.objectsUsed; i++) {
+            JSONObject object = objects[i];
+            if (object.size() > MAX_RETAINED_ENTRIES) {
+                objects[i] = null;
+                continue;
+            }
+            object.clear();
+            object.removeCustomSerializer();
+        }
+        this.objectsUsed = 0;
+
+        final JSONArray[] arrays = this.arrays;
+        for (int i = 0; i < this.arraysUsed; i++) {
+            JSONArray array = arrays[i];
+            if (array.size() > MAX_RETAINED_ENTRIES) {
+                arrays[i] = null;
+                continue;
+            }
+            array.clear();
+            array.removeCustomSerializer();
+        }
+        this.arraysUsed = 0;
+    }
+
+    /**
+     * 获取一个空的JSONObject
+     */
+    JSONObject obtainObject() {
+        final int i = this.objectsUsed;
+        if (i == MAX_RETAINED_CONTAINERS)
+            return new JSONObject();
+        if (i == this.objects.length)
+            this.objects = Arrays.copyOf(this.objects, i << 1);
+
+        JSONObject object = this.objects[i];
+        if (object == null)
+            this.objects[i] = object = new JSONObject();
+        this.objectsUsed = i + 1;
+        return object;
+    }
+
+    /**
+     * 获取一个空的JSONArray
+     */
+    JSONArray obtainArray() {
+        final int i = this.arraysUsed;
+        if (i == MAX_RETAINED_CONTAINERS)
+            return new JSONArray();
+        if (i == this.arrays.length)
+            this.arrays = Arrays.copyOf(this.arrays, i << 1);
+
+        JSONArray array = this.arrays[i];
+        if (array == null)
+            this.arrays[i] = array = new JSONArray();
+        this.arraysUsed = i + 1;
+        return array;
+    }
+}
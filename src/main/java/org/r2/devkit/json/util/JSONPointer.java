@@ -0,0 +1,235 @@
+package org.r2.devkit.json.util;
+
+import org.r2.devkit.Assert;
+import org.r2.devkit.IllegalDataException;
+import org.r2.devkit.json.JSON;
+import org.r2.devkit.json.JSONException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.r2.devkit.json.JSONToken.*;
+
+/**
+ * JSON路径，用于从JSON字符串中直接取出某个位置的值
+ * 提取时沿路径移动解析器游标，路径之外的值只跳过不构造，只有最终的值会被解析
+ *
+ * [路径格式]
+ * 1.RFC6901 JSON Pointer：空字符串或以 / 开头，例如 /data/items/3/price，~1表示 / ，~0表示 ~
+ * 2.点分路径：可以 $ 开头，例如 $.data.items[3].price 或 data.items.3.price
+ * 点分路径中的[n]只匹配数组下标，['key']或["key"]只匹配对象的键，.name为纯数字时两者都可以匹配
+ *
+ * [说明]
+ * 对象中存在重复的键时，与完整解析一致，取最后一个值
+ * 只校验路径经过部分的语法，其余部分仅校验字符串边界与括号嵌套
+ *
+ * 实例不可变，可以在线程间共享
+ *
+ * @author ruan4261
+ */
+public final class JSONPointer {
+
+    private final String path;
+    // 每一级路径，只匹配数组下标时键为null
+    private final String[] keys;
+    // 每一级路径对应的数组下标，不能作为下标时为-1
+    private final int[] indexes;
+
+    private JSONPointer(String path, List<String> keys, List<Integer> indexes) {
+        this.path = path;
+        this.keys = keys.toArray(new String[0]);
+        this.indexes = new int[indexes.size()];
+        for (int i = 0; i < this.indexes.length; i++)
+            this.indexes[i] = indexes.get(i);
+    }
+
+    /**
+     * 编译路径，编译结果可以重复使用
+     *
+     * @param path JSON Pointer或点分路径
+     * @throws IllegalDataException 路径为null或格式错误
+     */
+    public static JSONPointer compile(String path) {
+        Assert.notNull(path, "path");
+        List<String> keys = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        if (path.isEmpty() || path.charAt(0) == SOLIDUS)
+            compilePointer(path, keys, indexes);
+        else
+            compileDotted(path, keys, indexes);
+        return new JSONPointer(path, keys, indexes);
+    }
+
+    private static void compilePointer(String path, List<String> keys, List<Integer> indexes) {
+        int start = 1;
+        while (start <= path.length()) {
+            int end = path.indexOf(SOLIDUS, start);
+            if (end < 0)
+                end = path.length();
+
+            String token = path.substring(start, end);
+            if (token.indexOf('~') >= 0) {
+                for (int i = token.indexOf('~'); i >= 0; i = token.indexOf('~', i + 1)) {
+                    if (i + 1 == token.length() || (token.charAt(i + 1) != '0' && token.charAt(i + 1) != '1'))
+                        throw new IllegalDataException("Illegal JSON pointer : " + path);
+                }
+                token = token.replace("~1", "/").replace("~0", "~");
+            }
+            keys.add(token);
+            indexes.add(toIndex(token));
+            start = end + 1;
+        }
+    }
+
+    private static void compileDotted(String path, List<String> keys, List<Integer> indexes) {
+        final int len = path.length();
+        int offset = path.charAt(0) == '$' ? 1 : 0;
+        boolean first = true;
+
+        while (offset < len) {
+            char c = path.charAt(offset);
+            if (c == LBRACKET) {
+                int close = path.indexOf(RBRACKET, offset + 1);
+                if (close < 0)
+                    throw new IllegalDataException("Illegal JSON path : " + path);
+
+                char quot = path.charAt(offset + 1);
+                if (quot == QUOT || quot == DOUBLE_QUOT) {
+                    // ['key']，键中可以包含 . 与 [
+                    int end = path.indexOf(quot, offset + 2);
+                    if (end < 0 || end + 1 >= len || path.charAt(end + 1) != RBRACKET)
+                        throw new IllegalDataException("Illegal JSON path : " + path);
+                    keys.add(path.substring(offset + 2, end));
+                    indexes.add(-1);
+                    offset = end + 2;
+                } else {
+                    int index = toIndex(path.substring(offset + 1, close));
+                    if (index < 0)
+                        throw new IllegalDataException("Illegal JSON path : " + path);
+                    keys.add(null);
+                    indexes.add(index);
+                    offset = close + 1;
+                }
+            } else {
+                if (c == '.')
+                    offset++;
+                else if (!first)
+                    throw new IllegalDataException("Illegal JSON path : " + path);
+
+                int end = offset;
+                while (end < len && path.charAt(end) != '.' && path.charAt(end) != LBRACKET)
+                    end++;
+                if (end == offset)
+                    throw new IllegalDataException("Illegal JSON path : " + path);
+
+                String name = path.substring(offset, end);
+                keys.add(name);
+                indexes.add(toIndex(name));
+                offset = end;
+            }
+            first = false;
+        }
+    }
+
+    /**
+     * 不含前导0的非负十进制整数可以作为数组下标，否则返回-1
+     */
+    private static int toIndex(String token) {
+        final int len = token.length();
+        if (len == 0 || len > 9 || (len > 1 && token.charAt(0) == '0'))
+            return -1;
+        int index = 0;
+        for (int i = 0; i < len; i++) {
+            char c = token.charAt(i);
+            if (c < '0' || c > '9')
+                return -1;
+            index = index * 10 + c - '0';
+        }
+        return index;
+    }
+
+    /**
+     * 从JSON字符串中提取路径指向的值
+     *
+     * @param json JSON字符串
+     * @return 路径指向的值，路径不存在时返回null（JSON中的null值返回JSONValueNull）
+     * @throws IllegalDataException 参数为空
+     * @throws JSONException        路径经过的部分无法解析
+     */
+    public JSON extract(String json) {
+        Assert.notEmpty(json);
+        JSONStringParser parser = JSONStringParser.acquire(json, 0);
+        try {
+            for (int i = 0; i < this.keys.length; i++) {
+                if (!locate(json, parser, this.keys[i], this.indexes[i]))
+                    return null;
+            }
+            return parser.parseValue();
+        } finally {
+            parser.release();
+        }
+    }
+
+    /**
+     * 将游标移动至下一级路径指向的值之前
+     *
+     * @return 路径不存在时返回false
+     */
+    private static boolean locate(String json, JSONStringParser parser, String key, int index) {
+        final int c = parser.peek();
+        if (c == LBRACE && key != null) {
+            parser.advance();
+            if (parser.peek() == RBRACE)
+                return false;
+
+            // 重复的键以最后一个为准
+            int found = -1;
+            for (; ; ) {
+                boolean match = parser.matchKey(key);
+                if (parser.peek() != COLON)
+                    throw new JSONException("String cannot parse, miss colon(off " + parser.getOffset() + ") : " + json);
+                parser.advance();
+                if (match) {
+                    parser.peek();
+                    found = parser.getOffset();
+                }
+                parser.skipValue();
+
+                int next = parser.peek();
+                if (next == RBRACE)
+                    break;
+                if (next != COMMA)
+                    throw new JSONException("String cannot parse, miss comma(off " + parser.getOffset() + ") : " + json);
+                parser.advance();
+            }
+            if (found < 0)
+                return false;
+            parser.reset(json, found);
+            return true;
+        }
+
+        if (c == LBRACKET && index >= 0) {
+            parser.advance();
+            if (parser.peek() == RBRACKET)
+                return false;
+
+            for (int i = 0; i < index; i++) {
+                parser.skipValue();
+
+                int next = parser.peek();
+                if (next == RBRACKET)
+                    return false;
+                if (next != COMMA)
+                    throw new JSONException("String cannot parse, miss comma(off " + parser.getOffset() + ") : " + json);
+                parser.advance();
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return this.path;
+    }
+}
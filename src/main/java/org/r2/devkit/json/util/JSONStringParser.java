@@ -4,21 +4,303 @@ import org.r2.devkit.IllegalDataException;
 import org.r2.devkit.json.JSON;
 import org.r2.devkit.json.JSONArray;
 import org.r2.devkit.json.JSONException;
+import org.r2.devkit.json.JSONHandler;
 import org.r2.devkit.json.JSONObject;
 import org.r2.devkit.json.field.*;
 import org.r2.devkit.Assert;
 
+import java.util.function.Function;
+
 import static org.r2.devkit.json.JSONToken.*;
-import static org.r2.devkit.json.util.FieldParser.*;
 
 /**
  * JSON字符串解析算法
  *
+ * 解析器实例是一个游标，内部维护被解析的字符串与当前偏移量
+ * 各级解析方法直接移动游标，解析过程中不会为了传递偏移量而创建任何对象
+ * 实例可通过{@link #reset(String, int)}重复使用，静态方法使用线程内复用的实例
+ *
+ * Thread unsafe
+ *
  * @author ruan4261
  */
 public final class JSONStringParser {
 
-    private JSONStringParser() {
+    private static final int MAX_RETAINED_SCRATCH = 8192;
+    private static final int PRIMITIVE_ARRAY_CAPACITY = 8;
+    private static final ThreadLocal<JSONStringParser> LOCAL = ThreadLocal.withInitial(JSONStringParser::new);
+
+    private String str;
+    private int len;
+    private int offset;
+    // 线程内复用实例是否正在被使用
+    private boolean inUse;
+    // 含有转义符的字符串解码时复用的缓冲
+    private StringBuilder scratch = new StringBuilder();
+    // 默认的符号表，线程内复用实例释放时恢复为此实例
+    private final JSONKeyTable defaultKeyTable = new JSONKeyTable();
+    // 键的符号表，为null时不使用
+    private JSONKeyTable keyTable = this.defaultKeyTable;
+    // 容器的复用池，为null时不使用
+    private JSONParseContext context;
+    // 首个元素为数值的数组是否以基本类型数组保存
+    private boolean primitiveArrays;
+
+    public JSONStringParser() {
+    }
+
+    public JSONStringParser(String str, int offset) {
+        this.reset(str, offset);
+    }
+
+    /**
+     * 重置解析器，使游标指向新的字符串
+     *
+     * @throws IllegalDataException 参数为null，或offset非法
+     */
+    public JSONStringParser reset(String str, int offset) {
+        Assert.legalOffset(str, offset);
+        this.str = str;
+        this.len = str.length();
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * 当前游标位置，即相对于解析字符串已解析过的偏移量
+     */
+    public int getOffset() {
+        return this.offset;
+    }
+
+    public JSONKeyTable getKeyTable() {
+        return this.keyTable;
+    }
+
+    /**
+     * 设置解析JSONObject键时使用的符号表
+     * 默认启用，键的种类很多时可传入null关闭
+     */
+    public JSONStringParser setKeyTable(JSONKeyTable keyTable) {
+        this.keyTable = keyTable;
+        return this;
+    }
+
+    public JSONParseContext getContext() {
+        return this.context;
+    }
+
+    /**
+     * 设置解析JSONObject与JSONArray时使用的复用池
+     * 默认不使用，设置后解析结果在该上下文reset()之前有效
+     */
+    public JSONStringParser setContext(JSONParseContext context) {
+        this.context = context;
+        return this;
+    }
+
+    public boolean isPrimitiveArrays() {
+        return this.primitiveArrays;
+    }
+
+    /**
+     * 设置是否以基本类型数组保存数值数组，默认不启用
+     * 启用后首个元素为数值的JSONArray通过{@link JSONArray#primitiveArray(int)}构造，不经过复用池
+     * 小数以double保存，输出形式可能与源字符串不同（如1.50输出为1.5）
+     */
+    public JSONStringParser setPrimitiveArrays(boolean primitiveArrays) {
+        this.primitiveArrays = primitiveArrays;
+        return this;
+    }
+
+    /**
+     * 获取当前线程复用的解析器
+     * 如果该实例正在被使用（重入解析），则返回一个新的实例
+     * 使用完毕后需调用{@link #release()}
+     */
+    static JSONStringParser acquire(String str, int offset) {
+        JSONStringParser parser = LOCAL.get();
+        if (parser.inUse)
+            parser = new JSONStringParser();
+        parser.reset(str, offset);
+        parser.inUse = true;
+        return parser;
+    }
+
+    /**
+     * 释放对字符串的引用，使实例可以被再次获取
+     * 使用期间的配置（{@link #parse2Custom}中可能被修改）全部恢复为默认值，不影响之后的解析
+     */
+    void release() {
+        this.detach();
+        this.keyTable = this.defaultKeyTable;
+        this.context = null;
+        this.primitiveArrays = false;
+        this.inUse = false;
+    }
+
+    /**
+     * 只释放对字符串的引用，保留解析器的配置
+     * 用于调用方自行持有并长期复用的实例
+     */
+    void detach() {
+        this.str = null;
+        // 避免长期复用的实例持有过大的缓冲
+        if (this.scratch.capacity() > MAX_RETAINED_SCRATCH)
+            this.scratch = new StringBuilder();
+    }
+
+    /* 静态接口，内部使用线程内复用的解析器 */
+
+    /**
+     * 解析出一个JSONObject
+     *
+     * @param str    被解析的字符串
+     * @param offset 解析开始的偏移量
+     * @throws IllegalDataException 参数为null，或offset非法
+     * @throws JSONException        解析失败
+     * @see #parseObject()
+     */
+    public static Holder<JSONObject> parse2JSONObject(String str, int offset) {
+        JSONStringParser parser = acquire(str, offset);
+        try {
+            JSONObject object = parser.parseObject();
+            return new Holder<>(object, parser.offset);
+        } finally {
+            parser.release();
+        }
+    }
+
+    /**
+     * 解析出一个JSONArray
+     *
+     * @param str    被解析的字符串
+     * @param offset 解析开始的偏移量
+     * @throws IllegalDataException 参数为null，或offset非法
+     * @throws JSONException        解析失败
+     * @see #parseArray()
+     */
+    public static Holder<JSONArray> parse2JSONArray(String str, int offset) {
+        JSONStringParser parser = acquire(str, offset);
+        try {
+            JSONArray array = parser.parseArray();
+            return new Holder<>(array, parser.offset);
+        } finally {
+            parser.release();
+        }
+    }
+
+    /**
+     * 解析出一个JSON的实现
+     *
+     * @param str    被解析的字符串
+     * @param offset 解析开始的偏移量
+     * @throws IllegalDataException 参数为null，或offset非法
+     * @throws JSONException        解析失败
+     * @see #parseValue()
+     */
+    public static Holder<? extends JSON> parse2JSON(String str, int offset) {
+        JSONStringParser parser = acquire(str, offset);
+        try {
+            JSON json = parser.parseValue();
+            return new Holder<>(json, parser.offset);
+        } finally {
+            parser.release();
+        }
+    }
+
+    /**
+     * 从str的下标offset开始，解析出一个JSONKey对象，其形式完全等同于JSONValueString
+     *
+     * @param str    被解析的字符串
+     * @param offset 解析开始的偏移量
+     * @throws IllegalDataException 参数为null，或offset非法
+     * @throws JSONException        解析失败
+     * @see #parseKey()
+     */
+    public static Holder<JSONValueString> parse2JSONKey(String str, int offset) {
+        JSONStringParser parser = acquire(str, offset);
+        try {
+            String key = parser.parseKey();
+            return new Holder<>(new JSONValueString(key), parser.offset);
+        } finally {
+            parser.release();
+        }
+    }
+
+    /**
+     * 使用线程内复用的解析器执行自定义解析，解析器的游标位于offset
+     * 解析过程中对解析器的设置（符号表、复用池、基本类型数组）只在本次调用中有效
+     *
+     * @param str    被解析的字符串
+     * @param offset 解析开始的偏移量
+     * @param parse  解析过程，返回值将作为解析结果
+     * @throws IllegalDataException 参数为null，或offset非法
+     * @throws JSONException        解析失败
+     */
+    public static <R> Holder<R> parse2Custom(String str, int offset, Function<JSONStringParser, ? extends R> parse) {
+        JSONStringParser parser = acquire(str, offset);
+        try {
+            R result = parse.apply(parser);
+            return new Holder<>(result, parser.offset);
+        } finally {
+            parser.release();
+        }
+    }
+
+    /**
+     * JSONObject中键值对的消费者
+     * 用于在不构造JSONObject的情况下处理对象中的每个键值对
+     */
+    @FunctionalInterface
+    public interface FieldConsumer {
+
+        /**
+         * 调用时游标位于值之前，实现方必须通过解析器恰好解析一个值
+         *
+         * @param key    键
+         * @param parser 当前解析器
+         */
+        void accept(String key, JSONStringParser parser);
+
+    }
+
+    /**
+     * 按预编译的键集合解析JSONObject时，已知键值对的消费者
+     */
+    @FunctionalInterface
+    public interface IndexedFieldConsumer {
+
+        /**
+         * 调用时游标位于值之前，实现方必须通过解析器恰好解析一个值
+         *
+         * @param index  键在{@link JSONKeyMatcher}中的序号
+         * @param parser 当前解析器
+         */
+        void accept(int index, JSONStringParser parser);
+
+    }
+
+    /* 游标解析 */
+
+    /**
+     * 跳过JSON语法可忽略字符，返回游标处的字符但不消费
+     * 已到达字符串结尾时返回-1
+     */
+    public int peek() {
+        final String str = this.str;
+        final int len = this.len;
+        int offset = this.offset;
+        while (offset < len) {
+            char c = str.charAt(offset);
+            if (!isIgnorable(c)) {
+                this.offset = offset;
+                return c;
+            }
+            offset++;
+        }
+        this.offset = offset;
+        return -1;
     }
 
     /**
@@ -33,15 +315,48 @@ public final class JSONStringParser {
      * }
      * 当状态为1或4时，找到尾字符可结束，否则会抛出异常
      * 在此循环中忽略JSON语法规范的可忽略字符
+     * 解析结束后游标位于尾字符之后
      *
-     * @param str    被解析的字符串
-     * @param offset 解析开始的偏移量
-     * @throws IllegalDataException 参数为null，或offset非法
-     * @throws JSONException        解析失败
+     * @throws JSONException 解析失败
      */
-    public static Holder<JSONObject> parse2JSONObject(String str, int offset) {
-        Assert.legalOffset(str, offset);
-        final int len = str.length();
+    public JSONObject parseObject() {
+        JSONObject body = this.context == null ? new JSONObject() : this.context.obtainObject();
+        this.parseObject(body, null, null, null);
+        return body;
+    }
+
+    /**
+     * 解析一个JSONObject，但不构造JSONObject，每个键值对都交给consumer处理
+     * 语法规则与{@link #parseObject()}完全一致
+     *
+     * @throws JSONException 解析失败
+     */
+    public void parseObject(FieldConsumer consumer) {
+        Assert.notNull(consumer);
+        this.parseObject(null, consumer, null, null);
+    }
+
+    /**
+     * 按预编译的键集合解析一个JSONObject，不构造JSONObject，也不构造键的字符串
+     * 键集合中存在的键交给consumer处理，其他键的值不构造任何对象直接跳过，跳过时仍完整校验语法
+     * 语法规则与{@link #parseObject()}完全一致，重复的键由consumer自行处理
+     *
+     * @throws JSONException 解析失败
+     */
+    public void parseObject(JSONKeyMatcher matcher, IndexedFieldConsumer consumer) {
+        Assert.notNull(matcher);
+        Assert.notNull(consumer);
+        this.parseObject(null, null, matcher, consumer);
+    }
+
+    /**
+     * consumer与indexed都为null时将键值对放入body
+     * matcher不为null时以键的序号交给indexed处理
+     */
+    private void parseObject(JSONObject body, FieldConsumer consumer, JSONKeyMatcher matcher, IndexedFieldConsumer indexed) {
+        final String str = this.str;
+        final int len = this.len;
+        int offset = this.offset;
 
         // 0:首字符，必须为 {
         for (; offset < len; ) {
@@ -54,12 +369,11 @@ public final class JSONStringParser {
             }
         }
 
-        JSONObject body = new JSONObject();
         // 循环的状态记录
         int state = 1;
         // 一组键值对
         String key = null;
-        JSON value;
+        int index = -1;
 
         /*
         循环1,2,3,4
@@ -73,17 +387,22 @@ public final class JSONStringParser {
             }
 
             if (state == 1 || state == 5)
-                if (RBRACE == c)
+                if (RBRACE == c) {
                     // 解析结束
-                    return new Holder<>(body, ++offset);
+                    this.offset = ++offset;
+                    return;
+                }
 
             switch (state) {
                 case 1:
                 case 2:
                     // 拿到JSONKey
-                    Holder<JSONValueString> jsonKey = parse2JSONKey(str, offset);
-                    key = jsonKey.getObject().toString();
-                    offset = jsonKey.getOffset();
+                    this.offset = offset;
+                    if (matcher == null)
+                        key = parseKey();
+                    else
+                        index = matchKey(matcher);
+                    offset = this.offset;
 
                     state = 3;
                     continue loop;
@@ -96,11 +415,18 @@ public final class JSONStringParser {
                     state = 4;
                     continue loop;
                 case 4:
-                    Holder<? extends JSON> jsonValue = parse2JSON(str, offset);
-                    value = jsonValue.getObject();
-                    offset = jsonValue.getOffset();
+                    this.offset = offset;
                     // 键值对构成
-                    body.put(key, value);
+                    if (matcher != null) {
+                        if (index < 0)
+                            skipValue(true);
+                        else
+                            indexed.accept(index, this);
+                    } else if (consumer == null)
+                        body.put(key, parseValue());
+                    else
+                        consumer.accept(key, this);
+                    offset = this.offset;
 
                     state = 5;
                     continue loop;
@@ -114,14 +440,14 @@ public final class JSONStringParser {
                     state = 2;
                     continue loop;
                 default:
-                    throw new JSONException("JSONStringParser#parse2JSONObject(String, int) loop state has bug.");
+                    throw new JSONException("JSONStringParser#parseObject() loop state has bug.");
             }
         }
         throw new JSONException("String cannot parse : " + str);
     }
 
     /**
-     * 解析出一个JSONObject
+     * 解析出一个JSONArray
      * 0.找到一个首字符
      * loop{
      * 1.找到一个JSON的实现，作为数组的一个元素 / 找到一个尾字符，结束
@@ -129,17 +455,16 @@ public final class JSONStringParser {
      * 3.找到一个COMMA / 找到一个尾字符，结束
      * }
      * 在此循环中忽略JSON语法规范的可忽略字符
+     * 解析结束后游标位于尾字符之后
      *
-     * @param str    被解析的字符串
-     * @param offset 解析开始的偏移量
-     * @throws IllegalDataException 参数为null，或offset非法
-     * @throws JSONException        解析失败
+     * @throws JSONException 解析失败
      */
-    public static Holder<JSONArray> parse2JSONArray(String str, int offset) {
-        Assert.legalOffset(str, offset);
-        final int len = str.length();
+    public JSONArray parseArray() {
+        final String str = this.str;
+        final int len = this.len;
+        int offset = this.offset;
 
-        // 0:首字符，必须为 {
+        // 0:首字符，必须为 [
         for (; offset < len; ) {
             char c = str.charAt(offset++);
             if (!isIgnorable(c)) {
@@ -150,10 +475,14 @@ public final class JSONStringParser {
             }
         }
 
-        // 循环的状态记录，true时找
+        // 循环的状态记录
         int state = 1;
 
-        JSONArray body = new JSONArray();
+        JSONArray body;
+        if (this.primitiveArrays && startsWithNumber(str, offset, len))
+            body = JSONArray.primitiveArray(PRIMITIVE_ARRAY_CAPACITY);
+        else
+            body = this.context == null ? new JSONArray() : this.context.obtainArray();
 
         loop:
         for (; offset < len; ) {
@@ -164,17 +493,19 @@ public final class JSONStringParser {
             }
 
             if (state == 1 || state == 3)
-                if (RBRACKET == c)
+                if (RBRACKET == c) {
                     // 解析结束
-                    return new Holder<>(body, ++offset);
+                    this.offset = ++offset;
+                    return body;
+                }
 
             switch (state) {
                 case 1:
                 case 2:
-                    Holder<? extends JSON> holder = parse2JSON(str, offset);
-                    body.add(holder.getObject());
+                    this.offset = offset;
+                    body.add(parseValue());
+                    offset = this.offset;
 
-                    offset = holder.getOffset();
                     state = 3;
                     continue loop;
                 case 3:
@@ -186,14 +517,26 @@ public final class JSONStringParser {
                     state = 2;
                     continue loop;
                 default:
-                    throw new JSONException("JSONStringParser#parse2JSONArray(String, int) loop state has bug.");
+                    throw new JSONException("JSONStringParser#parseArray() loop state has bug.");
             }
         }
         throw new JSONException("String cannot parse : " + str);
     }
 
     /**
-     * 根据首字符调用不同子类的静态解析器
+     * 跳过可忽略字符后，下一个字符是否为数值的首字符
+     */
+    private static boolean startsWithNumber(String str, int offset, int len) {
+        for (; offset < len; offset++) {
+            char c = str.charAt(offset);
+            if (!isIgnorable(c))
+                return c == '-' || (c >= '0' && c <= '9');
+        }
+        return false;
+    }
+
+    /**
+     * 根据首字符调用不同类型的解析
      * 有六种情况
      * 1.字符串，例如: "tom"（需要被单引号或双引号修饰，这是最常见的）
      * 2.null，只允许: null
@@ -205,14 +548,12 @@ public final class JSONStringParser {
      * 在发现第一个可用符号前，所有字符都会引发解析异常
      * 但有四个字符（JSON语法规范的可忽略字符）除外
      *
-     * @param str    被解析的字符串
-     * @param offset 解析开始的偏移量
-     * @throws IllegalDataException 参数为null，或offset非法
-     * @throws JSONException        解析失败
+     * @throws JSONException 解析失败
      */
-    public static Holder<? extends JSON> parse2JSON(String str, int offset) {
-        Assert.legalOffset(str, offset);
-        final int len = str.length();
+    public JSON parseValue() {
+        final String str = this.str;
+        final int len = this.len;
+        int offset = this.offset;
 
         for (; offset < len; ) {
             char c = str.charAt(offset);
@@ -221,25 +562,26 @@ public final class JSONStringParser {
                 continue;
             }
 
-            // 解析到第一个字符时，直接调用下层解析器，offset由下层控制
+            // 解析到第一个字符时，直接调用下层解析，游标由下层控制
             // 走到此处，必定return或throw
+            this.offset = offset;
             switch (c) {
                 case QUOT:
                 case DOUBLE_QUOT:
-                    return p2String(str, offset, c);
+                    return new JSONValueString(parseString(c));
                 case 'f':
                 case 't':
-                    return p2Boolean(str, offset);
+                    return parseBoolean();
                 case 'n':
-                    return p2Null(str, offset);
+                    return parseNull();
                 case LBRACE:
-                    return parse2JSONObject(str, offset);
+                    return parseObject();
                 case LBRACKET:
-                    return parse2JSONArray(str, offset);
+                    return parseArray();
                 default:
                     // number
                     if (c == '-' || (c >= '0' && c <= '9'))
-                        return p2Number(str, offset);
+                        return parseNumber();
 
                     // 首字符不可用
                     throw new JSONException("String cannot parse(off " + offset + ") : " + str);
@@ -249,17 +591,80 @@ public final class JSONStringParser {
     }
 
     /**
-     * 从str的下标offset开始，解析出一个JSONKey对象，其形式完全等同于JSONValueString
+     * 解析游标处的一个值，以事件的形式交给handler，不构造任何JSON对象
+     * 语法规则与{@link #parseValue()}完全一致，解析结束后游标位于值之后
      *
-     * @param str    被解析的字符串
-     * @param offset 解析开始的偏移量
-     * @throws IllegalDataException 参数为null，或offset非法
-     * @throws JSONException        解析失败
+     * @throws JSONException 解析失败，此前的事件已经回调
      */
-    public static Holder<JSONValueString> parse2JSONKey(String str, int offset) {
-        Assert.legalOffset(str, offset);
-        final int len = str.length();
+    public void parseValue(JSONHandler handler) {
+        Assert.notNull(handler);
+        // 对象中的键值对转发给handler，每次解析只创建一个消费者
+        final FieldConsumer forward = new FieldConsumer() {
+            @Override
+            public void accept(String key, JSONStringParser parser) {
+                handler.key(key);
+                parser.parseValue(handler, this);
+            }
+        };
+        this.parseValue(handler, forward);
+    }
+
+    private void parseValue(JSONHandler handler, FieldConsumer forward) {
+        final int c = this.peek();
+        switch (c) {
+            case QUOT:
+            case DOUBLE_QUOT:
+                handler.value(parseString((char) c));
+                return;
+            case 'f':
+            case 't':
+                handler.value(parseBoolean().getContainer());
+                return;
+            case 'n':
+                parseNull();
+                handler.nullValue();
+                return;
+            case LBRACE:
+                handler.startObject();
+                this.parseObject(null, forward, null, null);
+                handler.endObject();
+                return;
+            case LBRACKET:
+                handler.startArray();
+                this.parseArray(handler, forward);
+                handler.endArray();
+                return;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    final int start = this.offset;
+                    final int end = scanNumber(this.str, start, this.len);
+                    if (end < 0)
+                        throw new JSONException("String cannot parse to number(off " + ~end + ") : " + this.str);
+                    this.offset = end;
+                    handler.number(this.str, start, end);
+                    return;
+                }
+
+                if (c < 0)
+                    throw new JSONException("String cannot parse : " + this.str);
+                // 首字符不可用
+                throw new JSONException("String cannot parse(off " + this.offset + ") : " + this.str);
+        }
+    }
+
+    /**
+     * 与{@link #parseArray()}的语法规则一致，元素以事件的形式交给handler
+     * 调用时游标位于 [ 处
+     */
+    private void parseArray(JSONHandler handler, FieldConsumer forward) {
+        final String str = this.str;
+        final int len = this.len;
+        int offset = this.offset + 1;
+
+        // 循环的状态记录
+        int state = 1;
 
+        loop:
         for (; offset < len; ) {
             char c = str.charAt(offset);
             if (isIgnorable(c)) {
@@ -267,16 +672,469 @@ public final class JSONStringParser {
                 continue;
             }
 
-            // 解析到第一个字符时，直接调用下层解析器，offset由下层控制
+            if (state == 1 || state == 3)
+                if (RBRACKET == c) {
+                    // 解析结束
+                    this.offset = ++offset;
+                    return;
+                }
+
+            switch (state) {
+                case 1:
+                case 2:
+                    this.offset = offset;
+                    parseValue(handler, forward);
+                    offset = this.offset;
+
+                    state = 3;
+                    continue loop;
+                case 3:
+                    if (COMMA != c)
+                        // 非COMMA，异常
+                        throw new JSONException("String cannot parse, miss comma(off " + offset + ") : " + str);
+
+                    offset++;
+                    state = 2;
+                    continue loop;
+                default:
+                    throw new JSONException("JSONStringParser#parseArray() loop state has bug.");
+            }
+        }
+        throw new JSONException("String cannot parse : " + str);
+    }
+
+    /**
+     * 跳过游标处的一个值，不构造任何对象
+     * 只校验字符串边界与括号的嵌套层数，值内部的其他语法错误不会被发现
+     * 结束后游标位于值之后
+     *
+     * @throws JSONException 游标处没有值，字符串缺少结尾引号，或括号不完整
+     */
+    public void skipValue() {
+        final String str = this.str;
+        final int len = this.len;
+        final int c = this.peek();
+        if (c < 0)
+            throw new JSONException("String cannot parse : " + str);
+
+        int offset = this.offset;
+        if (c == QUOT || c == DOUBLE_QUOT) {
+            this.offset = skipString(str, offset, len) + 1;
+            return;
+        }
+        if (c != LBRACE && c != LBRACKET) {
+            // 标量，遇到JSON语法可忽略字符或任何结构字符时结束，结构字符由外层校验
+            final int start = offset;
+            for (; offset < len; offset++) {
+                char ch = str.charAt(offset);
+                if (isIgnorable(ch) || ch == COMMA || ch == RBRACE || ch == RBRACKET || ch == COLON
+                        || ch == LBRACE || ch == LBRACKET || ch == QUOT || ch == DOUBLE_QUOT)
+                    break;
+            }
+            // 游标处为 , } ] : 等结构字符，缺少值
+            if (offset == start)
+                throw new JSONException("String cannot parse, miss value(off " + offset + ") : " + str);
+            this.offset = offset;
+            return;
+        }
+
+        int depth = 0;
+        for (; offset < len; offset++) {
+            switch (str.charAt(offset)) {
+                case QUOT:
+                case DOUBLE_QUOT:
+                    offset = skipString(str, offset, len);
+                    break;
+                case LBRACE:
+                case LBRACKET:
+                    depth++;
+                    break;
+                case RBRACE:
+                case RBRACKET:
+                    if (--depth == 0) {
+                        this.offset = offset + 1;
+                        return;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        throw new JSONException("String cannot parse : " + str);
+    }
+
+    /**
+     * 跳过游标处的一个值，不构造任何对象
+     * validate为true时完整校验值的语法，规则与{@link JSONValidator}一致，不限制嵌套层数
+     * 结束后游标位于值之后
+     *
+     * @throws JSONException 值的语法错误
+     * @see #skipValue()
+     */
+    public void skipValue(boolean validate) {
+        if (!validate) {
+            this.skipValue();
+            return;
+        }
+
+        final int end = JSONValidator.value(this.str, this.offset, this.len, Integer.MAX_VALUE);
+        if (end < 0)
+            throw new JSONException("String cannot parse(off " + ~end + ") : " + this.str);
+        this.offset = end;
+    }
+
+    /**
+     * @param open 开头引号的位置
+     * @return 结尾引号的位置
+     */
+    private static int skipString(String str, int open, int len) {
+        final char quot = str.charAt(open);
+        for (int offset = open + 1; offset < len; offset++) {
+            char c = str.charAt(offset);
+            if (c == quot)
+                return offset;
+            if (c == REVERSE_SOLIDUS)
+                offset++;
+        }
+        throw new JSONException("String cannot parse, miss quotation mark(off " + len + ") : " + str);
+    }
+
+    /**
+     * 消费游标处的一个字符
+     */
+    void advance() {
+        this.offset++;
+    }
+
+    /**
+     * 解析游标处的键并与expected比较，不含转义符的键不会构造字符串
+     * 结束后游标位于键之后
+     *
+     * @throws JSONException 解析失败
+     */
+    boolean matchKey(String expected) {
+        final String str = this.str;
+        final int len = this.len;
+        final int c = this.peek();
+        if (c != QUOT && c != DOUBLE_QUOT)
+            throw new JSONException("String cannot parse, miss quotation(off " + this.offset + ") : " + str);
+
+        final int start = this.offset + 1;
+        for (int offset = start; offset < len; offset++) {
+            char ch = str.charAt(offset);
+            if (ch == c) {
+                this.offset = offset + 1;
+                return offset - start == expected.length() && str.regionMatches(start, expected, 0, offset - start);
+            } else if (ch == REVERSE_SOLIDUS)
+                break;
+        }
+        // 含有转义符或缺少结尾引号
+        return expected.equals(this.parseString((char) c));
+    }
+
+    /**
+     * 解析游标处的键，返回其在matcher中的序号，不存在时返回-1
+     * 不含转义符的键以字符区间直接匹配，不会构造字符串
+     * 结束后游标位于键之后
+     *
+     * @throws JSONException 解析失败
+     */
+    public int matchKey(JSONKeyMatcher matcher) {
+        final String str = this.str;
+        final int len = this.len;
+        final int c = this.peek();
+        if (c != QUOT && c != DOUBLE_QUOT)
+            throw new JSONException("String cannot parse, miss quotation(off " + this.offset + ") : " + str);
+
+        final int start = this.offset + 1;
+        for (int offset = start; offset < len; offset++) {
+            char ch = str.charAt(offset);
+            if (ch == c) {
+                this.offset = offset + 1;
+                return matcher.indexOf(str, start, offset);
+            } else if (ch == REVERSE_SOLIDUS)
+                break;
+        }
+        // 含有转义符或缺少结尾引号
+        return matcher.indexOf(this.parseString((char) c));
+    }
+
+    /**
+     * 解析出一个JSONKey，其形式完全等同于JSONValueString
+     * 启用符号表时，相同内容的键返回同一个实例
+     *
+     * @throws JSONException 解析失败
+     */
+    public String parseKey() {
+        final String str = this.str;
+        final int len = this.len;
+        int offset = this.offset;
+
+        for (; offset < len; ) {
+            char c = str.charAt(offset);
+            if (isIgnorable(c)) {
+                offset++;
+                continue;
+            }
+
+            // 解析到第一个字符时，直接调用下层解析，游标由下层控制
             // 走到此处，必定return或throw
             switch (c) {
                 case QUOT:
                 case DOUBLE_QUOT:
-                    return p2String(str, offset, c);
+                    this.offset = offset;
+                    return parseString(c, this.keyTable);
                 default:
                     throw new JSONException("String cannot parse, miss quotation(off " + offset + ") : " + str);
             }
         }
         throw new JSONException("String cannot parse : " + str);
     }
+
+    /* 不可再分解的JSON字段，要求游标处的首字符是正确的 */
+
+    /**
+     * 解析字符串内容，将会遵循RFC4627对内容进行转义
+     *
+     * [快速路径]
+     * 先向后扫描至结尾引号或首个反斜杠，不含转义符时直接以substring截取内容
+     * 含有转义符时才使用缓冲，两个转义符之间的片段整体复制
+     *
+     * [入参规则]
+     * 游标处的首个字符必须为quot
+     *
+     * [说明]
+     * 解析时会跳过第一个字符，因为其默认为quot
+     * 再次解析到quot字符时（非转义情况下；如果是转义情况下，quot是可用字符，继续解析）解析结束
+     *
+     * [转义]
+     * 4个可忽略字符，8个可转义字符详见{@link org.r2.devkit.json.JSONToken}
+     *
+     * @param quot 该字符串使用的边界引号
+     * @throws JSONException 解析失败
+     */
+    String parseString(char quot) {
+        return parseString(quot, null);
+    }
+
+    /**
+     * @param keys 符号表，不为null时从中获取字符串实例
+     * @see #parseString(char)
+     */
+    private String parseString(char quot, JSONKeyTable keys) {
+        final String str = this.str;
+        final int len = this.len;
+        final int start = this.offset + 1;// 跳过第一个quot符
+
+        // 快速路径：不含转义符的字符串直接截取
+        int offset = start;
+        for (; offset < len; offset++) {
+            char c = str.charAt(offset);
+            if (quot == c) {
+                this.offset = offset + 1;
+                return keys == null ? str.substring(start, offset) : keys.lookup(str, start, offset);
+            } else if (REVERSE_SOLIDUS == c)
+                break;
+        }
+        if (offset >= len)
+            throw new JSONException("String cannot parse, miss quotation mark(off " + len + ") : " + str);
+
+        // 含有转义符，此前的片段整体复制
+        StringBuilder body = this.scratch;
+        body.setLength(0);
+        body.append(str, start, offset);
+        int run = offset;
+
+        loop:
+        for (; offset < len; ) {
+            char c = str.charAt(offset);
+
+            // 非转义
+            if (quot == c) {
+                body.append(str, run, offset);
+                this.offset = offset + 1;
+                return keys == null ? body.toString() : keys.lookup(body, 0, body.length());
+            } else if (REVERSE_SOLIDUS != c) {
+                offset++;
+                continue;
+            }
+
+            // 当前字符需要被转义
+            body.append(str, run, offset);
+            offset++;
+            if (offset >= len)
+                break;
+            c = str.charAt(offset++);
+            run = offset;
+            switch (c) {
+                case QUOT:// '
+                    body.append(QUOT);
+                    continue loop;
+                case DOUBLE_QUOT:// "
+                    body.append(DOUBLE_QUOT);
+                    continue loop;
+                case REVERSE_SOLIDUS:// \
+                    body.append(REVERSE_SOLIDUS);
+                    continue loop;
+                case SOLIDUS:// /
+                    body.append(SOLIDUS);
+                    continue loop;
+                case LINE_FEED_CHAR:// n
+                    body.append(LINE_FEED);
+                    continue loop;
+                case TAB_CHAR:// t
+                    body.append(TAB);
+                    continue loop;
+                case CARRIAGE_RETURN_CHAR:// r
+                    body.append(CARRIAGE_RETURN);
+                    continue loop;
+                case BACKSPACE_CHAR:// b
+                    body.append(BACKSPACE);
+                    continue loop;
+                case FORM_FEED_CHAR:// f
+                    body.append(FORM_FEED);
+                    continue loop;
+                case UNICODE_CHAR:// u
+                    if ((len - offset) < 4)
+                        throw new JSONException("String cannot escape(off " + offset + ") : " + str);
+
+                    int unicode = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int uni = str.charAt(offset++);
+                        if (uni >= '0' && uni <= '9') {
+                            unicode = (unicode << 4) + uni - '0';
+                        } else if (uni >= 'a' && uni <= 'z') {
+                            unicode = (unicode << 4) + uni - 'a' + 10;
+                        } else if (uni >= 'A' && uni <= 'Z') {
+                            unicode = (unicode << 4) + uni - 'A' + 10;
+                        } else
+                            throw new JSONException("String cannot escape(off " + offset + ") : " + str);
+                    }
+                    body.append((char) unicode);
+                    run = offset;
+                    continue loop;
+                default:
+                    throw new JSONException("String cannot escape(off " + offset + ") : " + str);
+            }
+        }
+        throw new JSONException("String cannot parse, miss quotation mark(off " + len + ") : " + str);
+    }
+
+    /**
+     * 解析出一个JSONValueNumber对象
+     *
+     * [说明]
+     * 遇到JSON语法可忽略字符或 , 或 } 或 ] 字符时返回解析结果
+     *
+     * [模式]
+     * 仅支持十进制模式，允许科学计数法，详见{@link JSONValueNumber}
+     *
+     * @throws JSONException 解析失败
+     */
+    JSONValueNumber parseNumber() {
+        final int end = scanNumber(this.str, this.offset, this.len);
+        if (end < 0)
+            throw new JSONException("String cannot parse to number(off " + ~end + ") : " + this.str);
+
+        final int start = this.offset;
+        this.offset = end;
+        return JSONValueNumber.valueOf(this.str, start, end);
+    }
+
+    /**
+     * 校验start处开始的数值，遇到JSON语法可忽略字符或 , 或 } 或 ] 字符时结束
+     * 至少含有一个数字，指数部分同样至少含有一个数字，单独的负号不是数值
+     *
+     * @return 数值的结束位置，校验失败时返回失败位置按位取反的值
+     */
+    static int scanNumber(String str, int start, int len) {
+        int offset = start + 1;
+
+        // verify
+        boolean point = false;
+        boolean exponent = false;
+        boolean sign = false;
+        int digits = str.charAt(start) == '-' ? 0 : 1;
+        int expDigits = 0;
+
+        for (; offset < len; offset++) {
+            char c = str.charAt(offset);
+            // end
+            if (isIgnorable(c) || c == COMMA || c == RBRACE || c == RBRACKET) {
+                if (digits == 0 || (exponent && expDigits == 0))
+                    return ~start;
+                return offset;
+            } else if (c >= '0' && c <= '9') {
+                if (exponent)
+                    expDigits++;
+                else
+                    digits++;
+            } else if (c == '.') {
+                if (point)
+                    return ~offset;
+                point = true;
+            } else if (c == 'e' || c == 'E') {
+                if (exponent)
+                    return ~offset;
+                exponent = point = true;
+            } else if (c == '-' || c == '+') {
+                if (sign)
+                    return ~offset;
+                if (!point || !exponent)
+                    return ~offset;
+
+                char prev = str.charAt(offset - 1);
+                if (prev != 'e' && prev != 'E')
+                    return ~offset;
+
+                sign = true;
+            } else
+                return ~offset;
+        }
+
+        return ~offset;
+    }
+
+    /**
+     * 解析出一个JSONValueBoolean对象
+     *
+     * [说明]
+     * 根据首字符匹配相应长度的内容，与标准boolean值进行比较
+     *
+     * @throws JSONException 解析失败
+     */
+    JSONValueBoolean parseBoolean() {
+        final int offset = this.offset;
+        char c = this.str.charAt(offset);
+
+        if (c == 'f') {
+            if (this.str.startsWith("false", offset)) {
+                this.offset = offset + 5;
+                return JSONValueBoolean.getInstanceFalse();
+            }
+        } else if (c == 't') {
+            if (this.str.startsWith("true", offset)) {
+                this.offset = offset + 4;
+                return JSONValueBoolean.getInstanceTrue();
+            }
+        }
+
+        throw new JSONException("String cannot parse to boolean(off " + offset + ") : " + this.str);
+    }
+
+    /**
+     * 解析出一个JSONValueNull对象
+     *
+     * @throws JSONException 解析失败
+     */
+    JSONValueNull parseNull() {
+        final int offset = this.offset;
+
+        if (this.str.startsWith("null", offset)) {
+            this.offset = offset + 4;
+            return JSONValueNull.getInstance();
+        }
+
+        throw new JSONException("String cannot parse to null(off " + offset + ") : " + this.str);
+    }
 }
@@ -0,0 +1,541 @@
+package org.r2.devkit.json.util;
+
+import org.r2.devkit.Assert;
+import org.r2.devkit.IllegalDataException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.r2.devkit.json.JSONToken.*;
+
+/**
+ * JSON语法校验，不构造任何值
+ *
+ * [语法]
+ * 字符序列的语法与{@link JSONStringParser}一致，包括单引号字符串、\\u转义符的宽松校验、数值之后必须有结束符等
+ * 字节数组的语法与{@link JSONByteParser}一致，包括跳过BOM、数值可以在输入结束时结束等
+ * 即校验通过当且仅当对应的解析方法可以成功解析
+ *
+ * [嵌套层数]
+ * 校验过程不使用递归，嵌套层数超过maxDepth时视为校验失败，用于在解析之前拒绝恶意构造的深层嵌套
+ * 嵌套层数不超过64时不会分配任何内存
+ *
+ * @author ruan4261
+ */
+public final class JSONValidator {
+
+    // 常规情况下JSON的嵌套层数
+    public static final int DEFAULT_MAX_DEPTH = 1024;
+
+    private JSONValidator() {
+    }
+
+    /**
+     * 校验字符序列
+     *
+     * @param str      被校验的字符序列
+     * @param maxDepth 允许的最大嵌套层数，0表示根节点只能为标量
+     * @return 校验通过时返回-1，否则返回校验失败的位置
+     * @throws IllegalDataException 参数为null，或maxDepth为负数
+     */
+    public static int indexOfError(CharSequence str, int maxDepth) {
+        Assert.notNull(str);
+        Assert.notNeg(maxDepth, "maxDepth");
+        final int len = str.length();
+        int i = value(str, 0, len, maxDepth);
+        if (i < 0)
+            return ~i;
+        i = skip(str, i, len);
+        return i == len ? -1 : i;
+    }
+
+    /**
+     * 校验from之后的一个完整值，值之后的内容不做校验
+     *
+     * @return 值的结束位置，校验失败时返回失败位置按位取反的值
+     */
+    static int value(CharSequence str, int from, int len, int maxDepth) {
+        // 嵌套层数，以及每一层容器的类型，对象为1，数组为0
+        int depth = 0;
+        long bits = 0;
+        long[] deep = null;
+        int i = from;
+
+        value:
+        for (; ; ) {
+            // 期望一个值
+            i = skip(str, i, len);
+            if (i == len)
+                return ~len;
+
+            final char c = str.charAt(i);
+            if (c == LBRACE || c == LBRACKET) {
+                if (depth == maxDepth)
+                    return ~i;
+                final boolean object = c == LBRACE;
+                if (depth < 64) {
+                    bits = object ? bits | (1L << depth) : bits & ~(1L << depth);
+                } else {
+                    deep = push(deep, depth, object);
+                }
+                depth++;
+
+                i = skip(str, i + 1, len);
+                if (i == len)
+                    return ~len;
+                if (str.charAt(i) == (object ? RBRACE : RBRACKET)) {
+                    i++;
+                    depth--;
+                } else if (object) {
+                    i = key(str, i, len);
+                    if (i < 0)
+                        return i;
+                    continue;
+                } else {
+                    continue;
+                }
+            } else if (c == QUOT || c == DOUBLE_QUOT) {
+                i = string(str, i, len);
+                if (i < 0)
+                    return i;
+            } else if (c == 't' || c == 'n') {
+                if (!regionMatches(str, i, len, c == 't' ? "true" : "null"))
+                    return ~i;
+                i += 4;
+            } else if (c == 'f') {
+                if (!regionMatches(str, i, len, "false"))
+                    return ~i;
+                i += 5;
+            } else if (c == '-' || (c >= '0' && c <= '9')) {
+                i = number(str, i, len);
+                if (i < 0)
+                    return i;
+            } else {
+                return ~i;
+            }
+
+            // 值之后，逗号或容器结尾
+            for (; ; ) {
+                if (depth == 0)
+                    return i;
+                i = skip(str, i, len);
+                if (i == len)
+                    return ~len;
+
+                final int level = depth - 1;
+                final boolean object = level < 64 ? (bits >>> level & 1) != 0 : peek(deep, level);
+                final char d = str.charAt(i);
+                if (d == COMMA) {
+                    i++;
+                    if (object) {
+                        i = key(str, i, len);
+                        if (i < 0)
+                            return i;
+                    }
+                    continue value;
+                }
+                if (d != (object ? RBRACE : RBRACKET))
+                    return ~i;
+                i++;
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * 校验UTF-8字节数组中的指定片段，返回的失败位置为数组下标
+     *
+     * @param utf8     UTF-8编码的JSON内容
+     * @param offset   校验开始的偏移量
+     * @param length   校验的字节长度
+     * @param maxDepth 允许的最大嵌套层数，0表示根节点只能为标量
+     * @return 校验通过时返回-1，否则返回校验失败的位置
+     * @throws IllegalDataException 参数为null，片段越界，或maxDepth为负数
+     */
+    public static int indexOfError(byte[] utf8, int offset, int length, int maxDepth) {
+        Assert.notNull(utf8);
+        Assert.judge(() -> offset < 0 || length < 0 || length > utf8.length - offset,
+                "Series length is " + utf8.length + ", but offset is " + offset + ", length is " + length);
+        Assert.notNeg(maxDepth, "maxDepth");
+        final int len = offset + length;
+
+        int depth = 0;
+        long bits = 0;
+        long[] deep = null;
+        int i = offset;
+
+        // BOM
+        if (length >= 3 && utf8[i] == (byte) 0xEF && utf8[i + 1] == (byte) 0xBB && utf8[i + 2] == (byte) 0xBF)
+            i += 3;
+
+        value:
+        for (; ; ) {
+            i = skip(utf8, i, len);
+            if (i == len)
+                return len;
+
+            final byte c = utf8[i];
+            if (c == LBRACE || c == LBRACKET) {
+                if (depth == maxDepth)
+                    return i;
+                final boolean object = c == LBRACE;
+                if (depth < 64) {
+                    bits = object ? bits | (1L << depth) : bits & ~(1L << depth);
+                } else {
+                    deep = push(deep, depth, object);
+                }
+                depth++;
+
+                i = skip(utf8, i + 1, len);
+                if (i == len)
+                    return len;
+                if (utf8[i] == (object ? RBRACE : RBRACKET)) {
+                    i++;
+                    depth--;
+                } else if (object) {
+                    i = key(utf8, i, len);
+                    if (i < 0)
+                        return ~i;
+                    continue;
+                } else {
+                    continue;
+                }
+            } else if (c == QUOT || c == DOUBLE_QUOT) {
+                i = string(utf8, i, len);
+                if (i < 0)
+                    return ~i;
+            } else if (c == 't' || c == 'n') {
+                if (!regionMatches(utf8, i, len, c == 't' ? "true" : "null"))
+                    return i;
+                i += 4;
+            } else if (c == 'f') {
+                if (!regionMatches(utf8, i, len, "false"))
+                    return i;
+                i += 5;
+            } else if (c == '-' || (c >= '0' && c <= '9')) {
+                i = number(utf8, i, len);
+                if (i < 0)
+                    return ~i;
+            } else {
+                return i;
+            }
+
+            for (; ; ) {
+                i = skip(utf8, i, len);
+                if (depth == 0)
+                    return i == len ? -1 : i;
+                if (i == len)
+                    return len;
+
+                final int level = depth - 1;
+                final boolean object = level < 64 ? (bits >>> level & 1) != 0 : peek(deep, level);
+                final byte d = utf8[i];
+                if (d == COMMA) {
+                    i++;
+                    if (object) {
+                        i = key(utf8, i, len);
+                        if (i < 0)
+                            return ~i;
+                    }
+                    continue value;
+                }
+                if (d != (object ? RBRACE : RBRACKET))
+                    return i;
+                i++;
+                depth--;
+            }
+        }
+    }
+
+    /* 嵌套层数超过64时，容器类型记录于long数组 */
+
+    private static long[] push(long[] deep, int depth, boolean object) {
+        final int index = depth - 64;
+        if (deep == null)
+            deep = new long[4];
+        else if ((index >>> 6) >= deep.length)
+            deep = Arrays.copyOf(deep, deep.length << 1);
+
+        if (object)
+            deep[index >>> 6] |= 1L << index;
+        else
+            deep[index >>> 6] &= ~(1L << index);
+        return deep;
+    }
+
+    private static boolean peek(long[] deep, int depth) {
+        final int index = depth - 64;
+        return (deep[index >>> 6] >>> index & 1) != 0;
+    }
+
+    /* 字符序列 */
+
+    private static int skip(CharSequence str, int i, int len) {
+        while (i < len && isIgnorable(str.charAt(i)))
+            i++;
+        return i;
+    }
+
+    private static boolean regionMatches(CharSequence str, int i, int len, String literal) {
+        final int l = literal.length();
+        if (len - i < l)
+            return false;
+        for (int j = 0; j < l; j++) {
+            if (str.charAt(i + j) != literal.charAt(j))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * 校验i之后的键与冒号
+     *
+     * @return 冒号之后的位置，校验失败时返回失败位置按位取反的值
+     */
+    private static int key(CharSequence str, int i, int len) {
+        i = skip(str, i, len);
+        if (i == len)
+            return ~len;
+        final char c = str.charAt(i);
+        if (c != QUOT && c != DOUBLE_QUOT)
+            return ~i;
+        i = string(str, i, len);
+        if (i < 0)
+            return i;
+        i = skip(str, i, len);
+        if (i == len)
+            return ~len;
+        return str.charAt(i) == COLON ? i + 1 : ~i;
+    }
+
+    /**
+     * 校验i处的字符串，转义规则与{@link JSONStringParser#parseString(char)}一致
+     *
+     * @return 结尾引号之后的位置，校验失败时返回失败位置按位取反的值
+     */
+    private static int string(CharSequence str, int i, int len) {
+        final char quot = str.charAt(i);
+        for (i++; i < len; i++) {
+            final char c = str.charAt(i);
+            if (c == quot)
+                return i + 1;
+            if (c != REVERSE_SOLIDUS)
+                continue;
+
+            if (++i == len)
+                return ~len;
+            switch (str.charAt(i)) {
+                case QUOT:
+                case DOUBLE_QUOT:
+                case REVERSE_SOLIDUS:
+                case SOLIDUS:
+                case LINE_FEED_CHAR:
+                case TAB_CHAR:
+                case CARRIAGE_RETURN_CHAR:
+                case BACKSPACE_CHAR:
+                case FORM_FEED_CHAR:
+                    break;
+                case UNICODE_CHAR:
+                    if (len - i <= 4)
+                        return ~i;
+                    for (int j = 1; j <= 4; j++) {
+                        final char u = str.charAt(i + j);
+                        if (!((u >= '0' && u <= '9') || (u >= 'a' && u <= 'z') || (u >= 'A' && u <= 'Z')))
+                            return ~(i + j);
+                    }
+                    i += 4;
+                    break;
+                default:
+                    return ~i;
+            }
+        }
+        return ~len;
+    }
+
+    /**
+     * 校验i处的数值，语法与{@link JSONStringParser#scanNumber(String, int, int)}一致，且必须可以构造为{@link BigDecimal}
+     * 数值之后必须为JSON语法可忽略字符或 , 或 } 或 ] 字符
+     *
+     * @return 数值的结束位置，校验失败时返回失败位置按位取反的值
+     */
+    private static int number(CharSequence str, int start, int len) {
+        boolean point = false;
+        boolean exponent = false;
+        boolean sign = false;
+        int digits = str.charAt(start) == '-' ? 0 : 1;
+        int expDigits = 0;
+
+        for (int i = start + 1; i < len; i++) {
+            final char c = str.charAt(i);
+            if (isIgnorable(c) || c == COMMA || c == RBRACE || c == RBRACKET) {
+                if (digits == 0 || (exponent && expDigits == 0))
+                    return ~start;
+                if (expDigits > 9 && !isDecimal(str.subSequence(start, i).toString()))
+                    return ~start;
+                return i;
+            } else if (c >= '0' && c <= '9') {
+                if (exponent)
+                    expDigits++;
+                else
+                    digits++;
+            } else if (c == '.') {
+                if (point)
+                    return ~i;
+                point = true;
+            } else if (c == 'e' || c == 'E') {
+                if (exponent)
+                    return ~i;
+                exponent = point = true;
+            } else if (c == '-' || c == '+') {
+                if (sign || !exponent)
+                    return ~i;
+                final char prev = str.charAt(i - 1);
+                if (prev != 'e' && prev != 'E')
+                    return ~i;
+                sign = true;
+            } else {
+                return ~i;
+            }
+        }
+        return ~len;
+    }
+
+    /* UTF-8字节 */
+
+    private static int skip(byte[] utf8, int i, int len) {
+        while (i < len && isIgnorable((char) (utf8[i] & 0xFF)))
+            i++;
+        return i;
+    }
+
+    private static boolean regionMatches(byte[] utf8, int i, int len, String literal) {
+        final int l = literal.length();
+        if (len - i < l)
+            return false;
+        for (int j = 0; j < l; j++) {
+            if (utf8[i + j] != literal.charAt(j))
+                return false;
+        }
+        return true;
+    }
+
+    private static int key(byte[] utf8, int i, int len) {
+        i = skip(utf8, i, len);
+        if (i == len)
+            return ~len;
+        final byte c = utf8[i];
+        if (c != QUOT && c != DOUBLE_QUOT)
+            return ~i;
+        i = string(utf8, i, len);
+        if (i < 0)
+            return i;
+        i = skip(utf8, i, len);
+        if (i == len)
+            return ~len;
+        return utf8[i] == COLON ? i + 1 : ~i;
+    }
+
+    /**
+     * 多字节UTF-8序列中的每个字节都不小于0x80，不会与引号或反斜杠混淆
+     * \\u转义符的校验与{@link JSONByteParser}一致，只接受十六进制字符
+     */
+    private static int string(byte[] utf8, int i, int len) {
+        final byte quot = utf8[i];
+        for (i++; i < len; i++) {
+            final byte c = utf8[i];
+            if (c == quot)
+                return i + 1;
+            if (c != REVERSE_SOLIDUS)
+                continue;
+
+            if (++i == len)
+                return ~len;
+            switch (utf8[i]) {
+                case QUOT:
+                case DOUBLE_QUOT:
+                case REVERSE_SOLIDUS:
+                case SOLIDUS:
+                case LINE_FEED_CHAR:
+                case TAB_CHAR:
+                case CARRIAGE_RETURN_CHAR:
+                case BACKSPACE_CHAR:
+                case FORM_FEED_CHAR:
+                    break;
+                case UNICODE_CHAR:
+                    if (len - i <= 4)
+                        return ~i;
+                    for (int j = 1; j <= 4; j++) {
+                        final byte u = utf8[i + j];
+                        if (!((u >= '0' && u <= '9') || (u >= 'a' && u <= 'f') || (u >= 'A' && u <= 'F')))
+                            return ~(i + j);
+                    }
+                    i += 4;
+                    break;
+                default:
+                    return ~i;
+            }
+        }
+        return ~len;
+    }
+
+    /**
+     * 与{@link #number(CharSequence, int, int)}相同，但数值可以在输入结束时结束
+     */
+    private static int number(byte[] utf8, int start, int len) {
+        boolean point = false;
+        boolean exponent = false;
+        boolean sign = false;
+        int digits = utf8[start] == '-' ? 0 : 1;
+        int expDigits = 0;
+
+        int i = start + 1;
+        for (; i < len; i++) {
+            final byte c = utf8[i];
+            if (isIgnorable((char) c) || c == COMMA || c == RBRACE || c == RBRACKET) {
+                break;
+            } else if (c >= '0' && c <= '9') {
+                if (exponent)
+                    expDigits++;
+                else
+                    digits++;
+            } else if (c == '.') {
+                if (point)
+                    return ~i;
+                point = true;
+            } else if (c == 'e' || c == 'E') {
+                if (exponent)
+                    return ~i;
+                exponent = point = true;
+            } else if (c == '-' || c == '+') {
+                if (sign || !exponent)
+                    return ~i;
+                final byte prev = utf8[i - 1];
+                if (prev != 'e' && prev != 'E')
+                    return ~i;
+                sign = true;
+            } else {
+                return ~i;
+            }
+        }
+
+        if (digits == 0 || (exponent && expDigits == 0))
+            return ~start;
+        // 数值文本只含ASCII字符
+        if (expDigits > 9 && !isDecimal(new String(utf8, start, i - start, StandardCharsets.US_ASCII)))
+            return ~start;
+        return i;
+    }
+
+    /**
+     * 指数超过9位时，由BigDecimal判断指数是否溢出
+     */
+    private static boolean isDecimal(String number) {
+        try {
+            new BigDecimal(number);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.r2.devkit.json;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * 增量解析与完整解析的一致性
+ * 输入被随机拆分为1至7字节的分块，分块边界会落在多字节UTF-8序列、转义序列与数值的中间
+ */
+public class JSONFeedParserTest {
+
+    private static final String[] SAMPLES = {
+            "{\"a\":1,\"b\":[true,false,null],\"c\":{\"d\":\"e\"}}",
+            "[1,-2.5,3e10,1E-7,\"x\\\"y\",{\"k\":\"\\u0041\\n\\/\"},[],{}]",
+            "{'single':'quot',\"n\":-0.0e-1,\"o\":{ }}",
+            "{\"中文\":\"值\\u4E2D\",\"emoji\":\"😀\",\"mix\":[\"ä\",\"ß\",123456789012345678901234567890]}",
+            "[{\"id\":1,\"tags\":[\"a\",\"b\"]},{\"id\":2,\"tags\":[]},{\"id\":3,\"name\":\"\\\\\"}]",
+            " \t\r\n{\"deep\":[[[[{\"x\":[1,[2,[3]]]}]]]]}\n",
+    };
+
+    private static final int ROUNDS = 2000;
+
+    @Test
+    public void randomChunks() {
+        final Random random = new Random(4261);
+        for (String sample : SAMPLES) {
+            final String expected = JSON.parse(sample).toString();
+            final byte[] bytes = sample.getBytes(StandardCharsets.UTF_8);
+            for (int i = 0; i < ROUNDS; i++) {
+                JSONFeedParser parser = new JSONFeedParser();
+                List<JSON> values = new ArrayList<>();
+                for (int offset = 0; offset < bytes.length; ) {
+                    int length = Math.min(1 + random.nextInt(7), bytes.length - offset);
+                    if (random.nextBoolean())
+                        parser.feed(bytes, offset, length);
+                    else
+                        parser.feed(ByteBuffer.wrap(bytes, offset, length));
+                    offset += length;
+                    drain(parser, values);
+                }
+                parser.finish();
+                drain(parser, values);
+
+                assertEquals(1, values.size());
+                assertEquals(sample, expected, values.get(0).toString());
+                assertTrue(parser.isIdle());
+                assertEquals(bytes.length, parser.position());
+            }
+        }
+    }
+
+    @Test
+    public void multipleValues() {
+        JSONFeedParser parser = new JSONFeedParser();
+        parser.feed("{\"a\":1} [2] \"s\"\n3 true\tnull".getBytes(StandardCharsets.UTF_8));
+        parser.finish();
+
+        List<JSON> values = new ArrayList<>();
+        drain(parser, values);
+        assertEquals("[{\"a\":1}, [2], s, 3, true, null]", values.toString());
+    }
+
+    @Test
+    public void missingSeparator() {
+        for (String str : new String[]{"true1", "\"a\"\"b\"", "{}{}", "[1][2]", "1\"a\"", "null[]"}) {
+            JSONFeedParser parser = new JSONFeedParser();
+            try {
+                parser.feed(str.getBytes(StandardCharsets.UTF_8));
+                parser.finish();
+                fail(str);
+            } catch (JSONException ignore) {
+            }
+        }
+    }
+
+    @Test
+    public void invalidNumbers() {
+        for (String str : new String[]{"[-]", "{\"a\":-}", "-", "[1e]", "1E+"}) {
+            for (JSONFeedParser parser : new JSONFeedParser[]{new JSONFeedParser(), new JSONFeedParser(new JSONTreeBuilder())}) {
+                try {
+                    parser.feed(str.getBytes(StandardCharsets.UTF_8));
+                    parser.finish();
+                    fail(str);
+                } catch (JSONException ignore) {
+                }
+            }
+        }
+    }
+
+    @Test
+    public void unexpectedEnd() {
+        for (String str : new String[]{"{\"a\":1", "[1,", "\"abc", "tru", "{\"a\""}) {
+            JSONFeedParser parser = new JSONFeedParser();
+            parser.feed(str.getBytes(StandardCharsets.UTF_8));
+            try {
+                parser.finish();
+                fail(str);
+            } catch (JSONException ignore) {
+            }
+        }
+    }
+
+    private static void drain(JSONFeedParser parser, List<JSON> values) {
+        JSON value;
+        while ((value = parser.poll()) != null)
+            values.add(value);
+    }
+}
@@ -0,0 +1,109 @@
+package org.r2.devkit.json;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 事件驱动解析的语法与{@link JSON#parse(String)}一致
+ */
+public class JSONHandlerTest {
+
+    private static final String[] INVALID_NUMBERS = {"[-]", "{\"a\":-}", "[- ]", "[1e]", "{\"a\":-1E+}"};
+
+    @Test
+    public void sameAsTree() {
+        String str = "{\"a\":[1,-2.50,3e10,\"s\"],\"b\":{\"c\":true,\"d\":null},\"e\":12345678901234567890}";
+        JSONTreeBuilder builder = new JSONTreeBuilder();
+        JSON.parse(str, builder);
+        assertEquals(JSON.parse(str).toString(), builder.getResult().toString());
+    }
+
+    @Test
+    public void defaultNumberEvents() {
+        Recorder recorder = new Recorder();
+        JSON.parse("[0,-7,1.5,123456789012345678901]", recorder);
+        assertEquals("[[, 0L, -7L, 1.5D, 1.2345678901234568E20D, ]]", recorder.events.toString());
+    }
+
+    @Test
+    public void invalidNumbers() {
+        for (String str : INVALID_NUMBERS) {
+            try {
+                JSON.parse(str);
+                fail(str);
+            } catch (JSONException ignore) {
+            }
+            try {
+                JSON.parse(str, new Recorder());
+                fail(str);
+            } catch (JSONException ignore) {
+            }
+            try {
+                JSON.parse(str, new JSONTreeBuilder());
+                fail(str);
+            } catch (JSONException ignore) {
+            }
+        }
+    }
+
+    /**
+     * 记录标量与数组事件
+     */
+    private static final class Recorder implements JSONHandler {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void startObject() {
+            this.events.add("{");
+        }
+
+        @Override
+        public void key(String key) {
+            this.events.add(key + ":");
+        }
+
+        @Override
+        public void endObject() {
+            this.events.add("}");
+        }
+
+        @Override
+        public void startArray() {
+            this.events.add("[");
+        }
+
+        @Override
+        public void endArray() {
+            this.events.add("]");
+        }
+
+        @Override
+        public void value(CharSequence str) {
+            this.events.add("\"" + str + "\"");
+        }
+
+        @Override
+        public void value(long number) {
+            this.events.add(number + "L");
+        }
+
+        @Override
+        public void value(double number) {
+            this.events.add(number + "D");
+        }
+
+        @Override
+        public void value(boolean bool) {
+            this.events.add(String.valueOf(bool));
+        }
+
+        @Override
+        public void nullValue() {
+            this.events.add("null");
+        }
+    }
+}
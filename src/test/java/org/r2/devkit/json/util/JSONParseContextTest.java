@@ -0,0 +1,51 @@
+package org.r2.devkit.json.util;
+
+import org.junit.Test;
+import org.r2.devkit.json.JSON;
+import org.r2.devkit.json.JSONArray;
+import org.r2.devkit.json.JSONObject;
+
+import static org.junit.Assert.*;
+
+/**
+ * 多次解析与归还之间容器的复用
+ */
+public class JSONParseContextTest {
+
+    private static final String SAMPLE = "{\"a\":[1,2],\"b\":{\"c\":\"d\"}}";
+
+    @Test
+    public void reuseContainers() {
+        assertReused(new JSONParseContext());
+    }
+
+    @Test
+    public void reuseLocalContainers() {
+        assertReused(JSONParseContext.local());
+    }
+
+    @Test
+    public void sharedParserUnaffected() {
+        JSONParseContext context = new JSONParseContext();
+        JSONStringParser.parse2Custom("{}", 0, parser -> parser.setContext(context).parseValue());
+
+        JSON json = JSON.parse(SAMPLE);
+        context.reset();
+        assertEquals(SAMPLE, json.toString());
+    }
+
+    private static void assertReused(JSONParseContext context) {
+        context.reset();
+        JSONObject first = (JSONObject) context.parse(SAMPLE);
+        JSONArray firstArray = (JSONArray) first.get("a");
+        JSONObject firstNested = (JSONObject) first.get("b");
+        context.reset();
+
+        JSONObject second = (JSONObject) context.parse(SAMPLE);
+        assertSame(first, second);
+        assertSame(firstArray, second.get("a"));
+        assertSame(firstNested, second.get("b"));
+        assertEquals(SAMPLE, second.toString());
+        context.reset();
+    }
+}